@@ -288,6 +288,7 @@ public class DataInitializer implements CommandLineRunner {
         
         if (!rsvps.isEmpty()) {
             rsvpRepository.saveAll(rsvps);
+            eventRepository.recountAttendance(events.stream().map(Event::getId).toList());
             log.info("Created {} attendee registrations", rsvps.size());
         }
     }
@@ -0,0 +1,24 @@
+package com.eventhub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduler for {@code @Scheduled} tasks and debounced rebuilds. Without it they all ran on the WebSocket
+ * broker's heartbeat scheduler, which has one thread per CPU, so one slow task held up the others.
+ */
+@Configuration
+public class SchedulingConfig {
+    
+    @Bean
+    @Primary
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${app.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+}
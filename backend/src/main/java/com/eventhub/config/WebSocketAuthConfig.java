@@ -1,6 +1,8 @@
 package com.eventhub.config;
 
+import com.eventhub.security.EventTopicAuthorizer;
 import com.eventhub.security.JwtTokenProvider;
+import com.eventhub.service.NotificationReplay;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
@@ -29,6 +31,7 @@ public class WebSocketAuthConfig implements WebSocketMessageBrokerConfigurer {
     
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final EventTopicAuthorizer eventTopicAuthorizer;
     
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
@@ -53,11 +56,28 @@ public class WebSocketAuthConfig implements WebSocketMessageBrokerConfigurer {
                                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                             SecurityContextHolder.getContext().setAuthentication(auth);
                             accessor.setUser(auth);
+                            rememberLastSeq(accessor);
                         }
                     }
+                } else if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())
+                        && !eventTopicAuthorizer.canSubscribe(accessor.getUser(), accessor.getDestination())) {
+                    // Dropped rather than failing the connection, which the client would reconnect and retry
+                    return null;
                 }
                 return message;
             }
         });
     }
+    
+    // A malformed resume header is treated as a first connection
+    private static void rememberLastSeq(StompHeaderAccessor accessor) {
+        String lastSeq = accessor.getFirstNativeHeader(NotificationReplay.LAST_SEQ_HEADER);
+        if (lastSeq != null && accessor.getSessionAttributes() != null) {
+            try {
+                accessor.getSessionAttributes().put(NotificationReplay.LAST_SEQ_ATTRIBUTE, Long.valueOf(lastSeq));
+            } catch (NumberFormatException ignored) {
+                // no resume
+            }
+        }
+    }
 }
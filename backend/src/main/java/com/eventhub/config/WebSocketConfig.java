@@ -15,10 +15,14 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
+        // Notification replay relies on a session's pushes arriving in the order they were sent
+        config.setPreservePublishOrder(true);
     }
     
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // A session's frames are handled in order, so the live queue is subscribed before the replay is answered
+        registry.setPreserveReceiveOrder(true);
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("https://eventhub-demo25.vercel.app")
                 .withSockJS();
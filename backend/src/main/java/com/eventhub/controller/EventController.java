@@ -1,20 +1,38 @@
 package com.eventhub.controller;
 
+import com.eventhub.dto.CatalogChangesResponse;
+import com.eventhub.dto.CursorPage;
 import com.eventhub.dto.EventRequest;
 import com.eventhub.dto.EventResponse;
+import com.eventhub.dto.EventView;
+import com.eventhub.dto.SuggestionResponse;
 import com.eventhub.model.Event;
+import com.eventhub.service.CatalogChangeLog;
+import com.eventhub.service.CatalogSnapshot;
+import com.eventhub.service.CatalogVersion;
+import com.eventhub.service.EventExportService;
 import com.eventhub.service.EventService;
+import com.eventhub.service.EventSuggestIndex;
+import com.eventhub.service.IdempotencyStore;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/events")
@@ -22,14 +40,23 @@ import java.util.List;
 public class EventController {
     
     private final EventService eventService;
+    private final EventExportService eventExportService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogSnapshot catalogSnapshot;
+    private final CatalogChangeLog catalogChangeLog;
+    private final EventSuggestIndex eventSuggestIndex;
+    private final IdempotencyStore idempotencyStore;
     
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<EventResponse> createEvent(
             @Valid @RequestBody EventRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(eventService.createEvent(request, authentication.getName()));
+        // A retried create with the same key gets the first response back instead of a duplicate event
+        return idempotencyStore.execute(idempotencyKey, "event:" + authentication.getName(), request,
+                () -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(eventService.createEvent(request, authentication.getName())));
     }
     
     @PutMapping("/{id}")
@@ -50,37 +77,147 @@ public class EventController {
         return ResponseEntity.noContent().build();
     }
     
+    // Deltas after a sequence returned by an earlier call; without one, only the current sequence comes back
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChangesResponse> getChanges(@RequestParam(required = false) Long since) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(catalogChangeLog.changesSince(since));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponse> getEventById(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.getEventById(id));
+    public ResponseEntity<EventResponse> getEventById(@PathVariable Long id, WebRequest request) {
+        return conditional(request, () -> eventService.getEventById(id));
     }
     
     @GetMapping
-    public ResponseEntity<List<EventResponse>> getAllEvents() {
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<CursorPage<EventResponse>> getAllEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
+        return conditional(request, () -> eventService.getAllEvents(cursor, size, EventView.from(view)));
+    }
+    
+    // First page with default size: served from the precompressed in-memory snapshot when it is current
+    @GetMapping(value = "/upcoming", params = {"!cursor", "!size", "!view"})
+    public ResponseEntity<?> getUpcomingSnapshot(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        Optional<CatalogSnapshot.Variant> variant = catalogSnapshot.current(acceptEncoding);
+        if (variant.isEmpty()) {
+            return conditional(request, catalogVersion.clockEtag(), () -> eventService.getUpcomingEvents(null, null, EventView.DETAIL));
+        }
+        if (request.checkNotModified(variant.get().etag())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (variant.get().contentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, variant.get().contentEncoding());
+        }
+        return response.body(variant.get().body());
     }
     
     @GetMapping("/upcoming")
-    public ResponseEntity<List<EventResponse>> getUpcomingEvents() {
-        return ResponseEntity.ok(eventService.getUpcomingEvents());
+    public ResponseEntity<CursorPage<EventResponse>> getUpcomingEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
+        return conditional(request, catalogVersion.clockEtag(), () -> eventService.getUpcomingEvents(cursor, size, EventView.from(view)));
     }
     
     @GetMapping("/organizer/{organizerId}")
-    public ResponseEntity<List<EventResponse>> getEventsByOrganizer(@PathVariable Long organizerId) {
-        return ResponseEntity.ok(eventService.getEventsByOrganizer(organizerId));
+    public ResponseEntity<CursorPage<EventResponse>> getEventsByOrganizer(
+            @PathVariable Long organizerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
+        return conditional(request, () -> eventService.getEventsByOrganizer(organizerId, cursor, size, EventView.from(view)));
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<EventResponse>> searchEvents(
+    public ResponseEntity<CursorPage<EventResponse>> searchEvents(
             @RequestParam(required = false) Event.Category category,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        return ResponseEntity.ok(eventService.searchEvents(category, location, startDate, endDate));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
+        return conditional(request, () -> eventService.searchEvents(category, location, startDate, endDate, cursor, size, EventView.from(view)));
     }
     
     @GetMapping("/search/keyword")
-    public ResponseEntity<List<EventResponse>> searchByKeyword(@RequestParam String keyword) {
-        return ResponseEntity.ok(eventService.searchByKeyword(keyword));
+    public ResponseEntity<CursorPage<EventResponse>> searchByKeyword(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
+        return conditional(request, () -> eventService.searchByKeyword(keyword, cursor, size, EventView.from(view)));
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        // Until a title or location change has been indexed, the version is newer than the keys it would label
+        if (!eventSuggestIndex.isCurrent()) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(eventService.suggest(prefix, limit));
+        }
+        return conditional(request, catalogVersion.clockEtag(), () -> eventService.suggest(prefix, limit));
+    }
+    
+    /**
+     * Full catalog as NDJSON, streamed row by row; gzip-compressed when the client accepts it.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream zipped = new GZIPOutputStream(out, 8192);
+                eventExportService.exportCatalog(zipped);
+                zipped.finish();
+            } else {
+                eventExportService.exportCatalog(out);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * Answers 304 Not Modified when the client already holds the current catalog version,
+     * without running the query or serializing a body. The version is read before loading,
+     * so a write racing with this request can only make the tag older than the data, never newer.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> body) {
+        return conditional(request, catalogVersion.etag(), body);
+    }
+    
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
     }
 }
@@ -0,0 +1,31 @@
+package com.eventhub.controller;
+
+import com.eventhub.dto.NotificationReplayResponse;
+import com.eventhub.service.NotificationReplay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+@Controller
+@RequiredArgsConstructor
+public class NotificationReplayController {
+    
+    private final NotificationReplay notificationReplay;
+    
+    // Subscribing to /app/notifications/replay answers once, to that session, with what it missed since the last-seq sent on CONNECT
+    @SubscribeMapping("/notifications/replay")
+    public NotificationReplayResponse replay(SimpMessageHeaderAccessor accessor) {
+        Principal user = accessor.getUser();
+        if (user == null) {
+            return new NotificationReplayResponse(null, List.of());
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        Long lastSeq = attributes == null ? null : (Long) attributes.get(NotificationReplay.LAST_SEQ_ATTRIBUTE);
+        return notificationReplay.replay(user.getName(), lastSeq);
+    }
+}
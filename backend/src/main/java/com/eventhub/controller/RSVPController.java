@@ -1,14 +1,29 @@
 package com.eventhub.controller;
 
+import com.eventhub.dto.BulkRSVPRequest;
+import com.eventhub.dto.BulkRSVPResult;
+import com.eventhub.dto.CursorPage;
+import com.eventhub.dto.QueueTicketResponse;
 import com.eventhub.dto.RSVPResponse;
+import com.eventhub.dto.WaitlistPositionResponse;
+import com.eventhub.model.RSVP;
+import com.eventhub.service.BulkRSVPService;
+import com.eventhub.service.EventExportService;
+import com.eventhub.service.IdempotencyStore;
 import com.eventhub.service.RSVPService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -17,14 +32,34 @@ import java.util.List;
 public class RSVPController {
     
     private final RSVPService rsvpService;
+    private final BulkRSVPService bulkRSVPService;
+    private final EventExportService eventExportService;
+    private final IdempotencyStore idempotencyStore;
     
     @PostMapping("/events/{eventId}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<RSVPResponse> createRSVP(
+    public ResponseEntity<?> createRSVP(
             @PathVariable Long eventId,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(rsvpService.createRSVP(eventId, authentication.getName()));
+        String scope = "rsvp:" + eventId + ":" + authentication.getName();
+        return idempotencyStore.execute(idempotencyKey, scope, null, () -> join(eventId, authentication.getName()));
+    }
+    
+    @GetMapping("/events/{eventId}/queue")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<QueueTicketResponse> getQueueTicket(
+            @PathVariable Long eventId,
+            Authentication authentication) {
+        return ResponseEntity.ok(rsvpService.getQueueTicket(eventId, authentication.getName()));
+    }
+    
+    @GetMapping("/events/{eventId}/position")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<WaitlistPositionResponse> getWaitlistPosition(
+            @PathVariable Long eventId,
+            Authentication authentication) {
+        return ResponseEntity.ok(rsvpService.getWaitlistPosition(eventId, authentication.getName()));
     }
     
     @DeleteMapping("/events/{eventId}")
@@ -36,14 +71,64 @@ public class RSVPController {
         return ResponseEntity.noContent().build();
     }
     
+    // Both bulk endpoints answer 200 with one result per requested event, including rejected ones
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<BulkRSVPResult>> createRSVPs(
+            @Valid @RequestBody BulkRSVPRequest request,
+            Authentication authentication) {
+        return ResponseEntity.ok(bulkRSVPService.createRSVPs(request.getEventIds(), authentication.getName()));
+    }
+    
+    @DeleteMapping("/bulk")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<BulkRSVPResult>> cancelRSVPs(
+            @Valid @RequestBody BulkRSVPRequest request,
+            Authentication authentication) {
+        return ResponseEntity.ok(bulkRSVPService.cancelRSVPs(request.getEventIds(), authentication.getName()));
+    }
+    
     @GetMapping("/my-rsvps")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<List<RSVPResponse>> getUserRSVPs(Authentication authentication) {
         return ResponseEntity.ok(rsvpService.getUserRSVPs(authentication.getName()));
     }
     
+    // Attendee list for the organizer and admins, like the export below
     @GetMapping("/events/{eventId}")
-    public ResponseEntity<List<RSVPResponse>> getEventRSVPs(@PathVariable Long eventId) {
-        return ResponseEntity.ok(rsvpService.getEventRSVPs(eventId));
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<CursorPage<RSVPResponse>> getEventRSVPs(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) RSVP.RSVPStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        eventExportService.checkAttendeeAccess(eventId, authentication.getName());
+        return ResponseEntity.ok(rsvpService.getEventRSVPs(eventId, status, cursor, size));
+    }
+    
+    /**
+     * Door list for the organizer as CSV, streamed row by row.
+     */
+    @GetMapping("/events/{eventId}/export")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAttendees(
+            @PathVariable Long eventId,
+            Authentication authentication) {
+        eventExportService.checkAttendeeAccess(eventId, authentication.getName());
+        StreamingResponseBody body = out -> eventExportService.exportAttendees(eventId, out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("event-" + eventId + "-attendees.csv").build().toString())
+                .body(body);
+    }
+    
+    private ResponseEntity<?> join(Long eventId, String userEmail) {
+        // Flash-sale events answer with a queue ticket; the RSVP itself is created by the admission worker
+        if (rsvpService.isQueuedAdmission(eventId)) {
+            return ResponseEntity.accepted().body(rsvpService.enqueueRSVP(eventId, userEmail));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(rsvpService.createRSVP(eventId, userEmail));
     }
 }
@@ -1,7 +1,9 @@
 package com.eventhub.controller;
 
+import com.eventhub.dto.AttendanceReconciliationResponse;
 import com.eventhub.dto.DashboardStatsResponse;
 import com.eventhub.dto.UserResponse;
+import com.eventhub.service.AttendanceReconciliationService;
 import com.eventhub.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,7 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final AttendanceReconciliationService attendanceReconciliationService;
     
     @GetMapping("/me")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
@@ -36,6 +39,12 @@ public class UserController {
         return ResponseEntity.ok(userService.getAdminStats());
     }
     
+    @PostMapping("/admin/reconcile-attendance")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AttendanceReconciliationResponse> reconcileAttendance() {
+        return ResponseEntity.ok(attendanceReconciliationService.reconcile());
+    }
+    
     @DeleteMapping("/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
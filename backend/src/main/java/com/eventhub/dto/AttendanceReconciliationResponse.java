@@ -0,0 +1,34 @@
+package com.eventhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceReconciliationResponse {
+    private LocalDateTime checkedAt;
+    private Integer eventsChecked;
+    private Integer eventsCorrected;
+    // Events whose in-memory seat count was reloaded from the rsvps table
+    private Integer ledgerReloads;
+    private List<Drift> drifts;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Drift {
+        private Long eventId;
+        private Integer storedConfirmed;
+        private Integer actualConfirmed;
+        private Integer storedWaitlist;
+        private Integer actualWaitlist;
+    }
+}
@@ -0,0 +1,18 @@
+package com.eventhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceResponse {
+    private Long eventId;
+    private Long attendeeCount;
+    private Long waitlistCount;
+    private Integer capacity;
+    private Boolean isFull;
+}
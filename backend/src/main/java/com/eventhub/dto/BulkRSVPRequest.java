@@ -0,0 +1,15 @@
+package com.eventhub.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkRSVPRequest {
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 50, message = "At most 50 events can be processed at once")
+    private List<@NotNull Long> eventIds;
+}
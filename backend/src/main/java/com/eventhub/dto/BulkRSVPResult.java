@@ -0,0 +1,20 @@
+package com.eventhub.dto;
+
+import com.eventhub.model.RSVP;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRSVPResult {
+    private Long eventId;
+    // CONFIRMED or WAITLIST for a join, CANCELLED for a cancellation; null when rejected
+    private RSVP.RSVPStatus status;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.eventhub.dto;
+
+import com.eventhub.service.CatalogChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChange {
+    // Sequence of the latest change to the event included in this delta
+    private Long seq;
+    private Long eventId;
+    private CatalogChangedEvent.Type type;
+    // Current summary of the event; null once it is deleted
+    private EventResponse event;
+}
@@ -0,0 +1,22 @@
+package com.eventhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangesResponse {
+    // Sequence the changes start after, and the one to pass as "since" next time
+    private Long since;
+    private Long next;
+    // The requested sequence is no longer (or not yet) known: reload the list, then continue from "next"
+    private Boolean resync;
+    private Boolean hasMore;
+    private List<CatalogChange> changes;
+}
@@ -0,0 +1,29 @@
+package com.eventhub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer size;
+    
+    // Highlighted text fragments keyed by item id, only present for full-text searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<Long, String> highlights;
+    
+    // Counts per filter value over the whole result set, only present for filtered searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private EventFacets facets;
+}
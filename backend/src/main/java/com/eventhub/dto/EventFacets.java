@@ -0,0 +1,19 @@
+package com.eventhub.dto;
+
+import com.eventhub.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFacets {
+    private Map<Event.Category, Integer> categories;
+    // Most frequent locations first
+    private Map<String, Integer> locations;
+}
@@ -32,4 +32,6 @@ public class EventRequest {
     private String posterUrl;
     
     private Boolean published = true;
+    
+    private Boolean queuedAdmission = false;
 }
@@ -1,6 +1,7 @@
 package com.eventhub.dto;
 
 import com.eventhub.model.Event;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +16,8 @@ import java.time.LocalDateTime;
 public class EventResponse {
     private Long id;
     private String title;
+    // Left out of the summary view
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
     private LocalDateTime eventDate;
     private String location;
@@ -22,10 +25,14 @@ public class EventResponse {
     private Event.Category category;
     private String posterUrl;
     private Boolean published;
+    private Boolean queuedAdmission;
     private Long organizerId;
     private String organizerName;
     private Long attendeeCount;
+    private Long waitlistCount;
     private Boolean isFull;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private LocalDateTime createdAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,24 @@
+package com.eventhub.dto;
+
+import com.eventhub.exception.BadRequestException;
+
+/**
+ * Representation of events in list responses, selected with the {@code view} request parameter.
+ */
+public enum EventView {
+    /** Card fields only: no description and no audit timestamps, which are never read from the database. */
+    SUMMARY,
+    /** Every {@link EventResponse} field. */
+    DETAIL;
+    
+    public static EventView from(String value) {
+        if (value == null || value.isBlank()) {
+            return DETAIL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown view '" + value + "', expected summary or detail");
+        }
+    }
+}
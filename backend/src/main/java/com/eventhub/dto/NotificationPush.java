@@ -0,0 +1,16 @@
+package com.eventhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPush {
+    // Increases with every push to the same user; the client resumes from the last one it saw
+    private Long seq;
+    private String message;
+}
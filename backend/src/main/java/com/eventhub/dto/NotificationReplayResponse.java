@@ -0,0 +1,18 @@
+package com.eventhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReplayResponse {
+    // Sequence to resume from on the next reconnect; later pushes arrive live
+    private Long next;
+    private List<NotificationPush> notifications;
+}
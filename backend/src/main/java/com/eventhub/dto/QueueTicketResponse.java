@@ -0,0 +1,19 @@
+package com.eventhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueTicketResponse {
+    private Long eventId;
+    // 1 means next in line; the outcome arrives on /user/queue/notifications
+    private Long position;
+    private LocalDateTime queuedAt;
+}
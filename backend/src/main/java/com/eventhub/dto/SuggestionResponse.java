@@ -0,0 +1,23 @@
+package com.eventhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+    private String text;
+    private Type type;
+    // Only set for title suggestions, which point at a single event
+    private Long eventId;
+    
+    public enum Type {
+        TITLE,
+        LOCATION,
+        ORGANIZER
+    }
+}
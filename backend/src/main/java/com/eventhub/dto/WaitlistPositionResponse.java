@@ -0,0 +1,19 @@
+package com.eventhub.dto;
+
+import com.eventhub.model.RSVP;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPositionResponse {
+    private Long eventId;
+    private RSVP.RSVPStatus status;
+    // 1 means next to be promoted; null once confirmed
+    private Long position;
+    private Long waitlistSize;
+}
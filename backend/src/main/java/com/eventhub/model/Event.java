@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,7 +14,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_date_id", columnList = "eventDate, id"),
+    @Index(name = "idx_events_organizer_date_id", columnList = "organizer_id, eventDate, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,6 +52,23 @@ public class Event {
     @Builder.Default
     private Boolean published = true;
     
+    // Flash-sale mode: RSVPs are queued and admitted in batches instead of one transaction per request
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    @Builder.Default
+    private Boolean queuedAdmission = false;
+    
+    // Maintained by atomic UPDATE statements in RSVP flows; entity saves never overwrite them
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer confirmedCount = 0;
+    
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer waitlistCount = 0;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
@@ -77,12 +98,7 @@ public class Event {
     }
     
     public long getAttendeeCount() {
-        if (rsvps == null) {
-            return 0;
-        }
-        return rsvps.stream()
-                .filter(rsvp -> rsvp.getStatus() == RSVP.RSVPStatus.CONFIRMED)
-                .count();
+        return confirmedCount == null ? 0 : confirmedCount;
     }
     
     public boolean isFull() {
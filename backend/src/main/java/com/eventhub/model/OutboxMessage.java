@@ -0,0 +1,49 @@
+package com.eventhub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A WebSocket push written in the same transaction as the change it announces, and sent by
+ * {@code NotificationDispatcher} once that transaction has committed. Rows are deleted when delivered.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_notification_outbox_due", columnList = "nextAttemptAt, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+    
+    // Principal name (email) of the user the message is sent to; null for a broadcast to the destination
+    private String recipient;
+    
+    @Column(nullable = false)
+    private String destination;
+    
+    @Column(nullable = false)
+    private String payload;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package com.eventhub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A push to a user's notification queue, logged under the sequence it was sent with so a client that
+ * reconnects after the in-memory replay ring has moved on can still resume. Purged after
+ * {@code app.notifications.replay.retention}.
+ */
+@Entity
+@Table(name = "pushed_notifications", indexes = {
+    @Index(name = "idx_pushed_notifications_recipient_seq", columnList = "recipient, seq"),
+    @Index(name = "idx_pushed_notifications_pushed_at", columnList = "pushedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PushedNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pushed_notifications_seq")
+    @SequenceGenerator(name = "pushed_notifications_seq", sequenceName = "pushed_notifications_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String recipient;
+    
+    @Column(nullable = false)
+    private Long seq;
+    
+    @Column(nullable = false)
+    private String message;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime pushedAt;
+}
@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "rsvps", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "event_id"})
+}, indexes = {
+    @Index(name = "idx_rsvps_event_created_id", columnList = "event_id, createdAt, id")
 })
 @Data
 @NoArgsConstructor
@@ -1,14 +1,24 @@
 package com.eventhub.repository;
 
+import com.eventhub.dto.AttendanceResponse;
+import com.eventhub.dto.EventResponse;
 import com.eventhub.model.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -20,23 +30,228 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     List<Event> findByEventDateBefore(LocalDateTime date);
     
-    @Query("SELECT e FROM Event e WHERE " +
-           "(:category IS NULL OR e.category = :category) AND " +
-           "(:location IS NULL OR LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
-           "(:startDate IS NULL OR e.eventDate >= :startDate) AND " +
-           "(:endDate IS NULL OR e.eventDate <= :endDate)")
-    List<Event> searchEvents(
+    // Read model: rows are built straight into EventResponse with the organizer joined in,
+    // so listings never hydrate managed Event entities or trigger lazy organizer loads
+    String EVENT_RESPONSE_SELECT = "SELECT new com.eventhub.dto.EventResponse(" +
+            "e.id, e.title, e.description, e.eventDate, e.location, e.capacity, e.category, e.posterUrl, " +
+            "e.published, e.queuedAdmission, o.id, CONCAT(o.firstName, ' ', o.lastName), " +
+            "CAST(e.confirmedCount AS Long), CAST(e.waitlistCount AS Long), " +
+            "CASE WHEN e.confirmedCount >= e.capacity THEN true ELSE false END, " +
+            "e.createdAt, e.updatedAt) " +
+            "FROM Event e JOIN e.organizer o ";
+    
+    // Same shape without description and audit timestamps, so list cards never read the large text column
+    String EVENT_SUMMARY_SELECT = "SELECT new com.eventhub.dto.EventResponse(" +
+            "e.id, e.title, CAST(NULL AS String), e.eventDate, e.location, e.capacity, e.category, e.posterUrl, " +
+            "e.published, e.queuedAdmission, o.id, CONCAT(o.firstName, ' ', o.lastName), " +
+            "CAST(e.confirmedCount AS Long), CAST(e.waitlistCount AS Long), " +
+            "CASE WHEN e.confirmedCount >= e.capacity THEN true ELSE false END, " +
+            "CAST(NULL AS LocalDateTime), CAST(NULL AS LocalDateTime)) " +
+            "FROM Event e JOIN e.organizer o ";
+    
+    String SEARCH_FILTER = "e.published = true AND " +
+            "(:category IS NULL OR e.category = :category) AND " +
+            "(:location IS NULL OR LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+            "(:startDate IS NULL OR e.eventDate >= :startDate) AND " +
+            "(:endDate IS NULL OR e.eventDate <= :endDate) AND ";
+    
+    String KEYWORD_FILTER = "(LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND ";
+    
+    String KEYSET_AFTER = "(e.eventDate > :afterDate OR (e.eventDate = :afterDate AND e.id > :afterId)) ";
+    
+    String KEYSET_ORDER = "ORDER BY e.eventDate ASC, e.id ASC";
+    
+    String EXPORT_FETCH_SIZE = "500";
+    
+    @Query(EVENT_RESPONSE_SELECT + "WHERE e.id = :id")
+    Optional<EventResponse> findResponseById(@Param("id") Long id);
+    
+    @Query(EVENT_RESPONSE_SELECT + "WHERE e.id IN :ids")
+    List<EventResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Keyset pages: callers pass PageRequest.of(0, limit) and resume strictly after (afterDate, afterId)
+    
+    @Query(EVENT_RESPONSE_SELECT + "WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventResponse> findResponsePageAfter(
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query(EVENT_RESPONSE_SELECT + "WHERE o.id = :organizerId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventResponse> findResponsePageByOrganizerAfter(
+        @Param("organizerId") Long organizerId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query(EVENT_RESPONSE_SELECT + "WHERE " + SEARCH_FILTER + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventResponse> searchResponsePageAfter(
         @Param("category") Event.Category category,
         @Param("location") String location,
         @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query(EVENT_RESPONSE_SELECT + "WHERE " + KEYWORD_FILTER + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventResponse> searchResponsesByKeywordPageAfter(
+        @Param("keyword") String keyword,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    // Summary twins of the list queries above, selected with EventView.SUMMARY
+    
+    @Query(EVENT_SUMMARY_SELECT + "WHERE e.id IN :ids")
+    List<EventResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(EVENT_SUMMARY_SELECT + "WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventResponse> findSummaryPageAfter(
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
     );
     
-    @Query("SELECT e FROM Event e WHERE LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Event> searchByKeyword(@Param("keyword") String keyword);
+    @Query(EVENT_SUMMARY_SELECT + "WHERE o.id = :organizerId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventResponse> findSummaryPageByOrganizerAfter(
+        @Param("organizerId") Long organizerId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query(EVENT_SUMMARY_SELECT + "WHERE " + SEARCH_FILTER + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventResponse> searchSummaryPageAfter(
+        @Param("category") Event.Category category,
+        @Param("location") String location,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query(EVENT_SUMMARY_SELECT + "WHERE " + KEYWORD_FILTER + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventResponse> searchSummariesByKeywordPageAfter(
+        @Param("keyword") String keyword,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    // Rows are read through a server-side cursor, EXPORT_FETCH_SIZE at a time; callers must close the stream
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EVENT_RESPONSE_SELECT + KEYSET_ORDER)
+    Stream<EventResponse> streamAllResponses();
+    
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.location AS location FROM Event e")
+    List<SearchDocument> findAllSearchDocuments();
+    
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.location AS location " +
+           "FROM Event e WHERE e.id = :id")
+    Optional<SearchDocument> findSearchDocumentById(@Param("id") Long id);
+    
+    @Query("SELECT e.id AS id, e.category AS category, e.location AS location, e.eventDate AS eventDate, " +
+           "e.published AS published FROM Event e WHERE e.published = true")
+    List<FilterDocument> findAllPublishedFilterDocuments();
+    
+    @Query("SELECT e.id AS id, e.category AS category, e.location AS location, e.eventDate AS eventDate, " +
+           "e.published AS published FROM Event e WHERE e.id = :id")
+    Optional<FilterDocument> findFilterDocumentById(@Param("id") Long id);
+    
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.id IN :ids")
+    List<Event> findWithOrganizerByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT COALESCE(e.queuedAdmission, false) FROM Event e WHERE e.id = :id")
+    Optional<Boolean> findQueuedAdmissionById(@Param("id") Long id);
+    
+    boolean existsByIdAndOrganizerEmail(Long id, String email);
+    
+    String SUGGEST_SOURCE_SELECT = "SELECT e.id AS id, e.title AS title, e.location AS location, " +
+            "e.eventDate AS eventDate, e.confirmedCount AS confirmedCount, " +
+            "CONCAT(o.firstName, ' ', o.lastName) AS organizerName FROM Event e JOIN e.organizer o ";
+    
+    @Query(SUGGEST_SOURCE_SELECT)
+    List<SuggestSource> findAllSuggestSources();
+    
+    @Query(SUGGEST_SOURCE_SELECT + "WHERE e.id = :id")
+    Optional<SuggestSource> findSuggestSourceById(@Param("id") Long id);
+    
+    // PostgreSQL only: relies on the search_document column and eventhub_fold() created by db/postgresql/schema.sql
+    @Query(value = "SELECT e.id AS id, ts_rank(e.search_document, q.query) AS rank, " +
+                   "ts_headline('simple', coalesce(e.description, e.title), q.query, " +
+                   "'MaxWords=30, MinWords=10, StartSel=<mark>, StopSel=</mark>') AS snippet " +
+                   "FROM events e CROSS JOIN to_tsquery('simple', eventhub_fold(:tsquery)) AS q(query) " +
+                   "WHERE e.search_document @@ q.query " +
+                   "ORDER BY rank DESC, e.id ASC LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<FullTextHit> fullTextSearch(
+        @Param("tsquery") String tsquery,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+    
+    @Query("SELECT e.id AS id, e.confirmedCount AS confirmedCount, e.waitlistCount AS waitlistCount FROM Event e")
+    List<AttendanceCounters> findAllAttendanceCounters();
+    
+    @Query("SELECT new com.eventhub.dto.AttendanceResponse(e.id, CAST(e.confirmedCount AS Long), CAST(e.waitlistCount AS Long), " +
+           "e.capacity, CASE WHEN e.confirmedCount >= e.capacity THEN true ELSE false END) FROM Event e WHERE e.id IN :ids")
+    List<AttendanceResponse> findAttendanceByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET " +
+           "e.confirmedCount = (SELECT CAST(COUNT(r) AS Integer) FROM RSVP r WHERE r.event.id = e.id AND r.status = 'CONFIRMED'), " +
+           "e.waitlistCount = (SELECT CAST(COUNT(r) AS Integer) FROM RSVP r WHERE r.event.id = e.id AND r.status = 'WAITLIST') " +
+           "WHERE e.id IN :eventIds")
+    int recountAttendance(@Param("eventIds") Collection<Long> eventIds);
     
     @Modifying
     @Query("DELETE FROM Event e WHERE e.organizer.id = :organizerId")
     void deleteByOrganizerId(@Param("organizerId") Long organizerId);
+    
+    interface SearchDocument {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        String getLocation();
+    }
+    
+    interface FilterDocument {
+        Long getId();
+        Event.Category getCategory();
+        String getLocation();
+        LocalDateTime getEventDate();
+        Boolean getPublished();
+    }
+    
+    interface SuggestSource {
+        Long getId();
+        String getTitle();
+        String getLocation();
+        LocalDateTime getEventDate();
+        Integer getConfirmedCount();
+        String getOrganizerName();
+    }
+    
+    interface FullTextHit {
+        Long getId();
+        Double getRank();
+        String getSnippet();
+    }
+    
+    interface AttendanceCounters {
+        Long getId();
+        Integer getConfirmedCount();
+        Integer getWaitlistCount();
+    }
 }
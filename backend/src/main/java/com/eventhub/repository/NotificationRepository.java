@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +19,32 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     Long countByUserIdAndReadFalse(Long userId);
     
+    // One statement notifies the owners of every listed RSVP
+    @Modifying
+    @Query(value = "INSERT INTO notifications (id, user_id, message, read, type, related_event_id, created_at) " +
+                   "SELECT nextval('notifications_seq'), r.user_id, :message, false, :type, r.event_id, :createdAt " +
+                   "FROM rsvps r WHERE r.id IN :rsvpIds",
+           nativeQuery = true)
+    int insertForRsvps(
+        @Param("rsvpIds") Collection<Long> rsvpIds,
+        @Param("message") String message,
+        @Param("type") String type,
+        @Param("createdAt") LocalDateTime createdAt
+    );
+    
+    // Notifies everyone holding an RSVP for the event; used as the event is deleted, so no related event is kept
+    @Modifying
+    @Query(value = "INSERT INTO notifications (id, user_id, message, read, type, related_event_id, created_at) " +
+                   "SELECT nextval('notifications_seq'), r.user_id, :message, false, :type, NULL, :createdAt " +
+                   "FROM rsvps r WHERE r.event_id = :eventId",
+           nativeQuery = true)
+    int insertForEventAttendees(
+        @Param("eventId") Long eventId,
+        @Param("message") String message,
+        @Param("type") String type,
+        @Param("createdAt") LocalDateTime createdAt
+    );
+    
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.user.id = :userId")
     void deleteByUserId(@Param("userId") Long userId);
@@ -0,0 +1,27 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    
+    // Locks the oldest due messages, skipping rows another dispatcher already holds: Hibernate reads a
+    // lock timeout of -2 as SKIP LOCKED
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE m.nextAttemptAt <= :now ORDER BY m.id ASC")
+    List<OutboxMessage> claimDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.PushedNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PushedNotificationRepository extends JpaRepository<PushedNotification, Long> {
+    
+    // Newest first, so a gap longer than the page keeps its most recent pushes
+    List<PushedNotification> findByRecipientAndSeqGreaterThanAndSeqLessThanEqualOrderBySeqDesc(
+        String recipient, Long after, Long upTo, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM PushedNotification p WHERE p.pushedAt < :before")
+    int deletePushedBefore(@Param("before") LocalDateTime before);
+}
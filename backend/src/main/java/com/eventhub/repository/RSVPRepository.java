@@ -1,17 +1,36 @@
 package com.eventhub.repository;
 
+import com.eventhub.dto.RSVPResponse;
 import com.eventhub.model.RSVP;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RSVPRepository extends JpaRepository<RSVP, Long> {
+    
+    // Attendee rows built in one joined query, in join order; keyset pages resume strictly after (afterCreatedAt, afterId)
+    String ATTENDEE_SELECT = "SELECT new com.eventhub.dto.RSVPResponse(r.id, u.id, CONCAT(u.firstName, ' ', u.lastName), " +
+            "e.id, e.title, r.status, r.createdAt) FROM RSVP r JOIN r.user u JOIN r.event e WHERE e.id = :eventId ";
+    
+    String ATTENDEE_AFTER = "AND (r.createdAt > :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id > :afterId)) ";
+    
+    String ATTENDEE_ORDER = "ORDER BY r.createdAt ASC, r.id ASC";
+    
+    String EXPORT_FETCH_SIZE = "500";
+    
     List<RSVP> findByUserId(Long userId);
     
     List<RSVP> findByEventId(Long eventId);
@@ -24,9 +43,108 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
     @Query("SELECT r FROM RSVP r WHERE r.event.id = :eventId AND r.status = :status ORDER BY r.createdAt ASC")
     List<RSVP> findByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") RSVP.RSVPStatus status);
     
+    @Query(ATTENDEE_SELECT + ATTENDEE_AFTER + ATTENDEE_ORDER)
+    List<RSVPResponse> findAttendeePageAfter(
+        @Param("eventId") Long eventId,
+        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query(ATTENDEE_SELECT + "AND r.status = :status " + ATTENDEE_AFTER + ATTENDEE_ORDER)
+    List<RSVPResponse> findAttendeePageByStatusAfter(
+        @Param("eventId") Long eventId,
+        @Param("status") RSVP.RSVPStatus status,
+        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    // Read through a server-side cursor, EXPORT_FETCH_SIZE rows at a time; callers must close the stream
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(ATTENDEE_SELECT + ATTENDEE_ORDER)
+    Stream<RSVPResponse> streamAttendees(@Param("eventId") Long eventId);
+    
+    // Pages of the waitlist in join order, or of confirmations newest first when demoting
+    
+    @Query("SELECT r.id AS id, r.user.email AS userEmail FROM RSVP r " +
+           "WHERE r.event.id = :eventId AND r.status = :status ORDER BY r.createdAt ASC, r.id ASC")
+    List<StatusEntry> findOldestByEventIdAndStatus(
+        @Param("eventId") Long eventId,
+        @Param("status") RSVP.RSVPStatus status,
+        Pageable pageable
+    );
+    
+    @Query("SELECT r.id AS id, r.user.email AS userEmail FROM RSVP r " +
+           "WHERE r.event.id = :eventId AND r.status = :status ORDER BY r.createdAt DESC, r.id DESC")
+    List<StatusEntry> findNewestByEventIdAndStatus(
+        @Param("eventId") Long eventId,
+        @Param("status") RSVP.RSVPStatus status,
+        Pageable pageable
+    );
+    
+    // Guarded by the current status, so rows changed concurrently are left alone
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RSVP r SET r.status = :to, r.updatedAt = :now WHERE r.id IN :ids AND r.status = :from")
+    int transitionStatus(
+        @Param("ids") Collection<Long> ids,
+        @Param("from") RSVP.RSVPStatus from,
+        @Param("to") RSVP.RSVPStatus to,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Query("SELECT r.id FROM RSVP r WHERE r.id IN :ids AND r.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") RSVP.RSVPStatus status);
+    
+    @Query("SELECT r.id AS id, r.user.email AS userEmail, r.status AS status, r.createdAt AS createdAt FROM RSVP r " +
+           "WHERE r.event.id = :eventId ORDER BY r.createdAt ASC, r.id ASC")
+    List<LineEntry> findLineEntriesByEventId(@Param("eventId") Long eventId);
+    
+    @Query("SELECT r.id AS id, r.user.email AS userEmail, r.status AS status, r.createdAt AS createdAt FROM RSVP r " +
+           "WHERE r.event.id = :eventId AND r.user.id IN :userIds ORDER BY r.createdAt ASC, r.id ASC")
+    List<LineEntry> findLineEntriesByEventIdAndUserIdIn(
+        @Param("eventId") Long eventId,
+        @Param("userIds") Collection<Long> userIds
+    );
+    
+    boolean existsByEventIdAndUserEmail(Long eventId, String email);
+    
+    // Everyone holding an RSVP for the event, in id order; pages resume strictly after afterId
+    @Query("SELECT r.id AS id, r.user.id AS userId FROM RSVP r " +
+           "WHERE r.event.id = :eventId AND r.id > :afterId ORDER BY r.id ASC")
+    List<Recipient> findRecipientsAfter(
+        @Param("eventId") Long eventId,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
     @Query("SELECT COUNT(r) FROM RSVP r WHERE r.event.id = :eventId AND r.status = 'CONFIRMED'")
     Long countConfirmedByEventId(@Param("eventId") Long eventId);
     
+    @Query("SELECT COUNT(r) FROM RSVP r WHERE r.event.id = :eventId AND r.status = 'WAITLIST'")
+    Long countWaitlistedByEventId(@Param("eventId") Long eventId);
+    
+    @Query("SELECT r.event.id AS eventId, r.status AS status, COUNT(r) AS total FROM RSVP r " +
+           "GROUP BY r.event.id, r.status")
+    List<StatusCount> countByEventAndStatus();
+    
+    @Query("SELECT r.user.id FROM RSVP r WHERE r.event.id = :eventId AND r.user.id IN :userIds")
+    List<Long> findUserIdsByEventIdAndUserIdIn(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT r.id AS id, r.event.id AS eventId, r.status AS status, r.createdAt AS createdAt FROM RSVP r " +
+           "WHERE r.user.id = :userId")
+    List<UserEntry> findUserEntriesByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT r.id AS id, r.event.id AS eventId, r.status AS status, r.createdAt AS createdAt FROM RSVP r " +
+           "WHERE r.user.id = :userId AND r.event.id IN :eventIds")
+    List<UserEntry> findUserEntriesByUserIdAndEventIdIn(
+        @Param("userId") Long userId,
+        @Param("eventIds") Collection<Long> eventIds
+    );
+    
     @Modifying
     @Query("DELETE FROM RSVP r WHERE r.user.id = :userId")
     void deleteByUserId(@Param("userId") Long userId);
@@ -34,4 +152,34 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
     @Modifying
     @Query("DELETE FROM RSVP r WHERE r.event.id = :eventId")
     void deleteByEventId(@Param("eventId") Long eventId);
+    
+    interface StatusEntry {
+        Long getId();
+        String getUserEmail();
+    }
+    
+    interface LineEntry {
+        Long getId();
+        String getUserEmail();
+        RSVP.RSVPStatus getStatus();
+        LocalDateTime getCreatedAt();
+    }
+    
+    interface UserEntry {
+        Long getId();
+        Long getEventId();
+        RSVP.RSVPStatus getStatus();
+        LocalDateTime getCreatedAt();
+    }
+    
+    interface Recipient {
+        Long getId();
+        Long getUserId();
+    }
+    
+    interface StatusCount {
+        Long getEventId();
+        RSVP.RSVPStatus getStatus();
+        Long getTotal();
+    }
 }
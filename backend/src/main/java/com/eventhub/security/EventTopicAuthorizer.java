@@ -0,0 +1,122 @@
+package com.eventhub.security;
+
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.RSVPRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides who may subscribe to an event's broadcast topic, {@code /topic/events/{id}}.
+ * <p>
+ * Only users holding an RSVP for the event and its organizer are allowed. Its attendance counts,
+ * {@code /topic/events/{id}/attendance}, are public like the event detail they keep fresh. Granted checks are cached for
+ * {@code app.websocket.event-topics.cache-ttl}, so a reconnect storm does not turn into an RSVP lookup per
+ * subscription; refusals are not cached, so a user can subscribe right after RSVPing, and a grant is revoked
+ * as soon as its RSVP is cancelled. Pattern subscriptions are refused everywhere, since the broker would match
+ * them against every event's topic.
+ */
+@Component
+public class EventTopicAuthorizer {
+
+    public static final String EVENT_TOPIC_PREFIX = "/topic/events/";
+    public static final String ATTENDANCE_SUFFIX = "/attendance";
+
+    private static final Pattern EVENT_TOPIC = Pattern.compile(
+            Pattern.quote(EVENT_TOPIC_PREFIX) + "(\\d{1,18})(" + Pattern.quote(ATTENDANCE_SUFFIX) + ")?");
+    private static final AntPathMatcher PATTERNS = new AntPathMatcher();
+
+    private final RSVPRepository rsvpRepository;
+    private final EventRepository eventRepository;
+    private final Cache<String, Boolean> granted;
+
+    public EventTopicAuthorizer(
+            RSVPRepository rsvpRepository,
+            EventRepository eventRepository,
+            @Value("${app.websocket.event-topics.cache-size:100000}") long cacheSize,
+            @Value("${app.websocket.event-topics.cache-ttl:10m}") Duration cacheTtl,
+            MeterRegistry meterRegistry) {
+        this.rsvpRepository = rsvpRepository;
+        this.eventRepository = eventRepository;
+        this.granted = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, granted, "eventTopicAccess");
+    }
+
+    public static String eventTopic(Long eventId) {
+        return EVENT_TOPIC_PREFIX + eventId;
+    }
+
+    public static String attendanceTopic(Long eventId) {
+        return EVENT_TOPIC_PREFIX + eventId + ATTENDANCE_SUFFIX;
+    }
+
+    public static String grantKey(Long eventId, String email) {
+        return eventId + ":" + email;
+    }
+
+    /**
+     * Returns the event whose broadcast topic the destination is, or null for any other destination.
+     */
+    public static Long eventTopicEventId(String destination) {
+        Matcher matcher = destination == null ? null : EVENT_TOPIC.matcher(destination);
+        return matcher != null && matcher.matches() && matcher.group(2) == null ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    /**
+     * Returns the event whose attendance topic the destination is, or null for any other destination.
+     */
+    public static Long attendanceTopicEventId(String destination) {
+        Matcher matcher = destination == null ? null : EVENT_TOPIC.matcher(destination);
+        return matcher != null && matcher.matches() && matcher.group(2) != null ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    public boolean canSubscribe(Principal user, String destination) {
+        if (destination == null) {
+            return true;
+        }
+        if (PATTERNS.isPattern(destination)) {
+            return false;
+        }
+        if (!destination.startsWith(EVENT_TOPIC_PREFIX)) {
+            return true;
+        }
+        Matcher matcher = EVENT_TOPIC.matcher(destination);
+        if (!matcher.matches()) {
+            return false;
+        }
+        if (matcher.group(2) != null) {
+            return true;
+        }
+        if (user == null) {
+            return false;
+        }
+        Long eventId = Long.valueOf(matcher.group(1));
+        String email = user.getName();
+        // A null result is not cached by Caffeine, which keeps refusals out of the cache
+        return granted.get(grantKey(eventId, email), key ->
+                rsvpRepository.existsByEventIdAndUserEmail(eventId, email)
+                        || eventRepository.existsByIdAndOrganizerEmail(eventId, email) ? Boolean.TRUE : null) != null;
+    }
+
+    public void revoke(Long eventId, String email) {
+        granted.invalidate(grantKey(eventId, email));
+    }
+
+    public void revokeEvent(Long eventId) {
+        String prefix = eventId + ":";
+        granted.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+}
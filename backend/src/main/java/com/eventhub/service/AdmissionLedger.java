@@ -0,0 +1,238 @@
+package com.eventhub.service;
+
+import com.eventhub.model.RSVP;
+import com.eventhub.repository.RSVPRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory count of confirmed seats and waitlisted RSVPs per event; the single authority deciding CONFIRMED
+ * vs WAITLIST.
+ * <p>
+ * A seat is claimed with a compare-and-set against the event's capacity, so concurrent RSVPs can never
+ * overbook and never queue behind a database lock. A new RSVP only gets a seat while nobody is waitlisted:
+ * seats freed by cancellations or a larger capacity belong to the head of the waitlist, which
+ * {@link WaitlistRebalancer} promotes once the change commits. A claim made inside a transaction is handed
+ * back if that transaction rolls back, and a release only takes effect once its transaction commits. Each event
+ * is loaded from {@code rsvps} the first time it is needed, which is also how the ledger recovers after
+ * a restart, and is reloaded by {@link #reconcile} when attendance reconciliation finds it out of line.
+ * <p>
+ * The ledger lives in one JVM: running several instances needs requests for an event routed to one of them.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionLedger {
+
+    private static final class Seats {
+        private final AtomicInteger taken;
+        // Claims whose transaction has not completed; a reload keeps counting them
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // Only decides whether a new RSVP may take a free seat: a reload can miss a join or a leave still
+        // in flight, which hands at most that many seats out of turn until the next reconciliation
+        private final AtomicInteger waiting;
+        private volatile boolean retired;
+        private volatile int capacity;
+
+        private Seats(int taken, int waiting) {
+            this.taken = new AtomicInteger(taken);
+            this.waiting = new AtomicInteger(waiting);
+        }
+    }
+
+    private final RSVPRepository rsvpRepository;
+
+    private final ConcurrentMap<Long, Seats> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Decides a new RSVP: CONFIRMED with a claimed seat when one is free and nobody is waitlisted, WAITLIST
+     * otherwise. The capacity is taken from the caller so edits to the event apply to the next admission.
+     */
+    public RSVP.RSVPStatus admit(Long eventId, int capacity) {
+        Seats entry = seats.computeIfAbsent(eventId, this::load);
+        if (entry.waiting.get() == 0 && tryAdmit(eventId, capacity, 1) == 1) {
+            return RSVP.RSVPStatus.CONFIRMED;
+        }
+        entry.waiting.incrementAndGet();
+        afterCompletion(committed -> {
+            if (!committed) {
+                entry.waiting.decrementAndGet();
+            }
+        });
+        return RSVP.RSVPStatus.WAITLIST;
+    }
+
+    /**
+     * Claims up to {@code wanted} seats at once for waitlisted RSVPs and returns how many were free.
+     */
+    public int tryAdmit(Long eventId, int capacity, int wanted) {
+        while (true) {
+            Seats entry = seats.computeIfAbsent(eventId, this::load);
+            entry.capacity = capacity;
+            // Announced before claiming, so a concurrent reload either counts the claim or retires the entry first
+            entry.inFlight.addAndGet(wanted);
+
+            int current;
+            int claimed;
+            do {
+                current = entry.taken.get();
+                claimed = Math.max(0, Math.min(wanted, entry.capacity - current));
+            } while (claimed > 0 && !entry.taken.compareAndSet(current, current + claimed));
+
+            if (entry.retired) {
+                entry.taken.addAndGet(-claimed);
+                entry.inFlight.addAndGet(-wanted);
+                continue;
+            }
+            int granted = claimed;
+            entry.inFlight.addAndGet(granted - wanted);
+            if (granted == 0) {
+                return 0;
+            }
+            afterCompletion(committed -> {
+                entry.inFlight.addAndGet(-granted);
+                if (!committed) {
+                    entry.taken.addAndGet(-granted);
+                }
+            });
+            return granted;
+        }
+    }
+
+    /**
+     * Seats taken for the event, including claims whose transaction is still open.
+     */
+    public int taken(Long eventId) {
+        return seats.computeIfAbsent(eventId, this::load).taken.get();
+    }
+
+    /**
+     * Waitlisted RSVPs of the event, including joins whose transaction is still open.
+     */
+    public int waiting(Long eventId) {
+        return seats.computeIfAbsent(eventId, this::load).waiting.get();
+    }
+
+    /**
+     * Gives up an admission once the current transaction commits: the seat of a CONFIRMED RSVP, or the
+     * waitlist place of a WAITLIST one.
+     */
+    public void leave(Long eventId, RSVP.RSVPStatus status) {
+        if (status == RSVP.RSVPStatus.CONFIRMED) {
+            release(eventId, 1);
+        } else if (status == RSVP.RSVPStatus.WAITLIST) {
+            waitlisted(eventId, -1);
+        }
+    }
+
+    /**
+     * Frees confirmed seats once the current transaction commits.
+     */
+    public void release(Long eventId, int count) {
+        // Bound to the entry as it is now: if it is reloaded before this commits, the reload read the seat as
+        // still taken and the new entry keeps it until the next reconciliation, which never overbooks
+        Seats bound = seats.get(eventId);
+        afterCommit(() -> {
+            Seats entry = bound != null ? bound : seats.get(eventId);
+            if (entry != null) {
+                entry.taken.addAndGet(-count);
+            }
+        });
+    }
+
+    /**
+     * Adds {@code delta} to the event's waitlisted count once the current transaction commits.
+     */
+    public void waitlisted(Long eventId, int delta) {
+        Seats bound = seats.get(eventId);
+        afterCommit(() -> {
+            Seats entry = bound != null ? bound : seats.get(eventId);
+            if (entry != null) {
+                entry.waiting.addAndGet(delta);
+            }
+        });
+    }
+
+    /**
+     * Reloads every loaded event whose counts do not match {@code actual} (committed CONFIRMED and WAITLIST
+     * RSVPs per event, events without any left out), and every event in {@code corrected}. Returns how many
+     * were reloaded.
+     */
+    public int reconcile(Map<Long, int[]> actual, Collection<Long> corrected) {
+        Set<Long> stale = new HashSet<>(corrected);
+        seats.forEach((eventId, entry) -> {
+            int[] totals = actual.getOrDefault(eventId, new int[2]);
+            // Transactions committing meanwhile only cause a reload that was not needed
+            if (entry.taken.get() - entry.inFlight.get() != totals[0] || entry.waiting.get() != totals[1]) {
+                stale.add(eventId);
+            }
+        });
+        int reloaded = 0;
+        for (Long eventId : stale) {
+            if (seats.computeIfPresent(eventId, (id, entry) -> {
+                entry.retired = true;
+                // In-flight claims are read before the committed count, so a claim committing in between is
+                // counted twice (one seat held back until the next reconciliation) rather than not at all
+                Seats fresh = new Seats(entry.inFlight.get() + rsvpRepository.countConfirmedByEventId(id).intValue(),
+                        rsvpRepository.countWaitlistedByEventId(id).intValue());
+                fresh.capacity = entry.capacity;
+                return fresh;
+            }) != null) {
+                reloaded++;
+            }
+        }
+        return reloaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.DELETED) {
+            seats.remove(event.eventId());
+        }
+    }
+
+    // afterCommit rather than afterCompletion: after-commit event listeners published later in the
+    // transaction, such as the waitlist rebalancer, must already see the freed seats
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Seats load(Long eventId) {
+        return new Seats(rsvpRepository.countConfirmedByEventId(eventId).intValue(),
+                rsvpRepository.countWaitlistedByEventId(eventId).intValue());
+    }
+
+    // Outside a transaction the claim counts as committed straight away
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status != STATUS_ROLLED_BACK);
+            }
+        });
+    }
+}
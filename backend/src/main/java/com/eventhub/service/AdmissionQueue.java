@@ -0,0 +1,147 @@
+package com.eventhub.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FIFO waiting lines for events in queued-admission (flash-sale) mode.
+ * <p>
+ * Joining a line only takes a short per-event lock, so a ticket drop costs no database writes on the
+ * request path. A worker thread of its own, so no other scheduled task can hold it up, hands each line to
+ * {@link QueuedAdmissionService} every {@code app.rsvp.queue.drain-interval-ms} in batches of
+ * {@code app.rsvp.queue.batch-size}, which turns the burst into a bounded write rate. Lines are held in
+ * memory: tickets still waiting when the application stops are lost and their holders must queue again.
+ */
+@Component
+@Slf4j
+public class AdmissionQueue {
+
+    public record Ticket(Long userId, String userEmail, long number, LocalDateTime queuedAt) {
+    }
+
+    public record Place(Ticket ticket, long position) {
+    }
+
+    private static final class Line {
+        private final Deque<Ticket> waiting = new ArrayDeque<>();
+        private final Map<Long, Ticket> byUser = new HashMap<>();
+        private long issued;
+        private long taken;
+
+        private Place placeOf(Ticket ticket) {
+            return new Place(ticket, ticket.number() - taken);
+        }
+    }
+
+    private final QueuedAdmissionService queuedAdmissionService;
+    private final int batchSize;
+    private final long drainIntervalMs;
+    private final ScheduledExecutorService drainer;
+
+    private final ConcurrentMap<Long, Line> lines = new ConcurrentHashMap<>();
+
+    public AdmissionQueue(QueuedAdmissionService queuedAdmissionService,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.rsvp.queue.batch-size:500}") int batchSize,
+                          @Value("${app.rsvp.queue.drain-interval-ms:250}") long drainIntervalMs) {
+        this.queuedAdmissionService = queuedAdmissionService;
+        this.batchSize = batchSize;
+        this.drainIntervalMs = drainIntervalMs;
+        this.drainer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "admission-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorServiceMetrics.monitor(meterRegistry, drainer, "admissionQueue");
+    }
+
+    @PostConstruct
+    public void start() {
+        drainer.scheduleWithFixedDelay(() -> {
+            // An exception escaping here would cancel every later drain
+            try {
+                drain();
+            } catch (RuntimeException ex) {
+                log.error("Admission queue drain failed", ex);
+            }
+        }, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        drainer.shutdown();
+        drainer.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Adds the user to the event's line, or returns their current place when they are already waiting.
+     */
+    public Place enqueue(Long eventId, Long userId, String userEmail) {
+        Line line = lines.computeIfAbsent(eventId, id -> new Line());
+        synchronized (line) {
+            Ticket ticket = line.byUser.computeIfAbsent(userId, id -> {
+                Ticket issued = new Ticket(userId, userEmail, ++line.issued, LocalDateTime.now());
+                line.waiting.addLast(issued);
+                return issued;
+            });
+            return line.placeOf(ticket);
+        }
+    }
+
+    public Optional<Place> find(Long eventId, Long userId) {
+        Line line = lines.get(eventId);
+        if (line == null) {
+            return Optional.empty();
+        }
+        synchronized (line) {
+            return Optional.ofNullable(line.byUser.get(userId)).map(line::placeOf);
+        }
+    }
+
+    private void drain() {
+        lines.forEach((eventId, line) -> {
+            List<Ticket> batch = take(line);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                queuedAdmissionService.admit(eventId, batch);
+            } catch (RuntimeException ex) {
+                log.error("Could not admit {} queued RSVPs for event {}", batch.size(), eventId, ex);
+                queuedAdmissionService.reportFailure(batch);
+            }
+        });
+    }
+
+    private List<Ticket> take(Line line) {
+        synchronized (line) {
+            List<Ticket> batch = new ArrayList<>(Math.min(batchSize, line.waiting.size()));
+            while (batch.size() < batchSize && !line.waiting.isEmpty()) {
+                Ticket ticket = line.waiting.pollFirst();
+                line.byUser.remove(ticket.userId());
+                batch.add(ticket);
+            }
+            line.taken += batch.size();
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.AttendanceResponse;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.security.EventTopicAuthorizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Streams confirmed and waitlist counts to {@code /topic/events/{id}/attendance}.
+ * <p>
+ * Committed attendance changes only mark the event as changed; every {@code app.websocket.attendance.interval-ms}
+ * the counters of all changed events are read with one query and each is published once, so a burst of RSVPs
+ * costs subscribers one message per interval carrying the latest counts. Events nobody is subscribed to are
+ * not tracked, and a new subscription gets the current counts on the next tick.
+ */
+@Component
+public class AttendanceBroadcaster {
+
+    private final EventRepository eventRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    // "sessionId/subscriptionId" -> event, and how many subscriptions each event has
+    private final ConcurrentMap<String, Long> subscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Integer> subscribers = new ConcurrentHashMap<>();
+
+    private final Counter changes;
+    private final Counter published;
+
+    public AttendanceBroadcaster(EventRepository eventRepository, SimpMessagingTemplate messagingTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.changes = Counter.builder("websocket.attendance.changes")
+                .description("Attendance changes of events with subscribers")
+                .register(meterRegistry);
+        this.published = Counter.builder("websocket.attendance.published")
+                .description("Coalesced attendance messages published")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if ((event.type() == CatalogChangedEvent.Type.ATTENDANCE_CHANGED || event.type() == CatalogChangedEvent.Type.UPDATED)
+                && subscribers.containsKey(event.eventId())) {
+            changes.increment();
+            changed.add(event.eventId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.websocket.attendance.interval-ms:500}")
+    public void publish() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> eventIds = new ArrayList<>(changed);
+        changed.removeAll(eventIds);
+        for (AttendanceResponse attendance : eventRepository.findAttendanceByIdIn(eventIds)) {
+            messagingTemplate.convertAndSend(EventTopicAuthorizer.attendanceTopic(attendance.getEventId()), attendance);
+            published.increment();
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long eventId = EventTopicAuthorizer.attendanceTopicEventId(accessor.getDestination());
+        if (eventId != null && subscriptions.putIfAbsent(accessor.getSessionId() + "/" + accessor.getSubscriptionId(), eventId) == null) {
+            subscribers.merge(eventId, 1, Integer::sum);
+            changed.add(eventId);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId() + "/" + accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + "/";
+        subscriptions.keySet().stream().filter(key -> key.startsWith(prefix)).toList().forEach(this::unsubscribe);
+    }
+
+    private void unsubscribe(String key) {
+        Long eventId = subscriptions.remove(key);
+        if (eventId != null) {
+            subscribers.computeIfPresent(eventId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
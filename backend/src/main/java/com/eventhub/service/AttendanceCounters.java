@@ -0,0 +1,128 @@
+package com.eventhub.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writes the denormalized confirmed/waitlist counters on {@code events} off the RSVP path.
+ * <p>
+ * Writers hand their changes to {@link #adjust}, which adds them to the event's pending delta once the
+ * transaction commits. Every {@code app.attendance.flush-interval-ms} the pending deltas are applied with one
+ * JDBC batch in event id order and ATTENDANCE_CHANGED is published for each updated event, so a burst of RSVPs
+ * costs an event one row update per interval instead of a row lock per RSVP. Admission is decided by
+ * {@link AdmissionLedger}, so counters trailing by an interval only delay what readers see.
+ */
+@Component
+@Slf4j
+public class AttendanceCounters {
+
+    private static final String ADJUST_ATTENDANCE =
+            "UPDATE events SET confirmed_count = confirmed_count + ?, waitlist_count = waitlist_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Committed {confirmed, waitlist} deltas not written yet
+    private final ConcurrentMap<Long, int[]> pending = new ConcurrentHashMap<>();
+
+    public AttendanceCounters(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        // A flush called from inside a transaction, such as reconciliation, commits on its own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds to the event's counters once the current transaction commits.
+     */
+    public void adjust(Long eventId, int confirmedDelta, int waitlistDelta) {
+        if (confirmedDelta != 0 || waitlistDelta != 0) {
+            afterCommit(() -> pending.merge(eventId, new int[]{confirmedDelta, waitlistDelta}, AttendanceCounters::sum));
+        }
+    }
+
+    /**
+     * Drops the pending deltas of events whose counters are about to be recounted from {@code rsvps}.
+     */
+    public void discard(Collection<Long> eventIds) {
+        eventIds.forEach(pending::remove);
+    }
+
+    @Scheduled(fixedDelayString = "${app.attendance.flush-interval-ms:250}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Taken per event, so deltas committing meanwhile start a new entry for the next flush
+        Map<Long, int[]> deltas = new TreeMap<>();
+        for (Long eventId : pending.keySet()) {
+            int[] delta = pending.remove(eventId);
+            if (delta != null && (delta[0] != 0 || delta[1] != 0)) {
+                deltas.put(eventId, delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = deltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue()[0], entry.getValue()[1], entry.getKey()})
+                .toList();
+        int[] updated;
+        try {
+            updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(ADJUST_ATTENDANCE, rows));
+        } catch (RuntimeException ex) {
+            deltas.forEach((eventId, delta) -> pending.merge(eventId, delta, AttendanceCounters::sum));
+            log.warn("Flushing the attendance counters of {} events failed, retrying on the next flush", deltas.size(), ex);
+            return;
+        }
+        int row = 0;
+        for (Long eventId : deltas.keySet()) {
+            // An event deleted meanwhile has no row left to update
+            if (updated[row++] != 0) {
+                eventPublisher.publishEvent(new CatalogChangedEvent(eventId, CatalogChangedEvent.Type.ATTENDANCE_CHANGED));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static int[] sum(int[] left, int[] right) {
+        return new int[]{left[0] + right[0], left[1] + right[1]};
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.AttendanceReconciliationResponse;
+import com.eventhub.model.RSVP;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.RSVPRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes the denormalized confirmed/waitlist counters on events from the rsvps table
+ * and repairs any event whose stored counters have drifted. The {@link AdmissionLedger} entries
+ * of corrected events, and of any event whose counts disagree with the table, are reloaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceReconciliationService {
+    
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final AdmissionLedger admissionLedger;
+    private final AttendanceCounters attendanceCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public AttendanceReconciliationResponse reconcile() {
+        // Counter deltas still waiting for their flush would otherwise show up as drift
+        attendanceCounters.flush();
+        Map<Long, int[]> actual = new HashMap<>();
+        for (RSVPRepository.StatusCount count : rsvpRepository.countByEventAndStatus()) {
+            int[] totals = actual.computeIfAbsent(count.getEventId(), id -> new int[2]);
+            if (count.getStatus() == RSVP.RSVPStatus.CONFIRMED) {
+                totals[0] = count.getTotal().intValue();
+            } else if (count.getStatus() == RSVP.RSVPStatus.WAITLIST) {
+                totals[1] = count.getTotal().intValue();
+            }
+        }
+        
+        List<EventRepository.AttendanceCounters> stored = eventRepository.findAllAttendanceCounters();
+        List<AttendanceReconciliationResponse.Drift> drifts = new ArrayList<>();
+        for (EventRepository.AttendanceCounters counters : stored) {
+            int[] totals = actual.getOrDefault(counters.getId(), new int[2]);
+            if (counters.getConfirmedCount() != totals[0] || counters.getWaitlistCount() != totals[1]) {
+                drifts.add(AttendanceReconciliationResponse.Drift.builder()
+                        .eventId(counters.getId())
+                        .storedConfirmed(counters.getConfirmedCount())
+                        .actualConfirmed(totals[0])
+                        .storedWaitlist(counters.getWaitlistCount())
+                        .actualWaitlist(totals[1])
+                        .build());
+            }
+        }
+        
+        List<Long> driftedIds = drifts.stream()
+                .map(AttendanceReconciliationResponse.Drift::getEventId)
+                .toList();
+        if (!driftedIds.isEmpty()) {
+            // Deltas committed since the flush above are already in the recount
+            attendanceCounters.discard(driftedIds);
+            eventRepository.recountAttendance(driftedIds);
+            driftedIds.forEach(eventId -> eventPublisher.publishEvent(
+                    new CatalogChangedEvent(eventId, CatalogChangedEvent.Type.ATTENDANCE_CHANGED)));
+        }
+        int ledgerReloads = admissionLedger.reconcile(actual, driftedIds);
+        
+        return AttendanceReconciliationResponse.builder()
+                .checkedAt(LocalDateTime.now())
+                .eventsChecked(stored.size())
+                .eventsCorrected(drifts.size())
+                .ledgerReloads(ledgerReloads)
+                .drifts(drifts)
+                .build();
+    }
+    
+    // The call to reconcile() below bypasses the proxy, so the scheduled run opens the transaction itself
+    @Scheduled(cron = "${app.attendance.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void scheduledReconcile() {
+        AttendanceReconciliationResponse result = reconcile();
+        if (result.getLedgerReloads() > 0) {
+            log.warn("Admission ledger was out of line with rsvps on {} events and was reloaded", result.getLedgerReloads());
+        }
+        if (result.getEventsCorrected() > 0) {
+            log.warn("Attendance counters drifted on {} of {} events and were corrected: {}",
+                    result.getEventsCorrected(), result.getEventsChecked(), result.getDrifts());
+        } else {
+            log.info("Attendance counters consistent across {} events", result.getEventsChecked());
+        }
+    }
+}
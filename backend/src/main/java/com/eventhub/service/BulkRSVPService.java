@@ -0,0 +1,216 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.BulkRSVPResult;
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.model.Event;
+import com.eventhub.model.Notification;
+import com.eventhub.model.RSVP;
+import com.eventhub.model.User;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.RSVPRepository;
+import com.eventhub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Joins or leaves many events for one user in a single transaction.
+ * <p>
+ * The user is resolved once, the events and the user's existing RSVPs are each read with one {@code IN}
+ * query, and RSVP rows and organizer notifications are written with JDBC batches.
+ * Every requested event gets its own result, so one rejected event does not fail the others.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkRSVPService {
+
+    private static final String INSERT_RSVP =
+            "INSERT INTO rsvps (user_id, event_id, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (id, user_id, message, read, type, related_event_id, created_at) " +
+            "VALUES (nextval('notifications_seq'), ?, ?, false, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final AdmissionLedger admissionLedger;
+    private final AttendanceCounters attendanceCounters;
+    private final WaitlistIndex waitlistIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<BulkRSVPResult> createRSVPs(List<Long> eventIds, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        List<Long> ids = eventIds.stream().distinct().toList();
+
+        Map<Long, Event> events = loadEvents(ids);
+        Set<Long> joined = rsvpRepository.findUserEntriesByUserIdAndEventIdIn(user.getId(), ids).stream()
+                .map(RSVPRepository.UserEntry::getEventId)
+                .collect(Collectors.toSet());
+
+        Map<Long, BulkRSVPResult> results = new LinkedHashMap<>();
+        Map<Long, RSVP.RSVPStatus> admitted = new LinkedHashMap<>();
+        for (Long eventId : ids) {
+            Event event = events.get(eventId);
+            String rejection = event == null ? "Event not found"
+                    : joined.contains(eventId) ? "You have already RSVP'd to this event"
+                    : Boolean.TRUE.equals(event.getQueuedAdmission()) ? "This event admits RSVPs through its queue"
+                    : RSVPService.rejectionReason(user, event);
+            if (rejection != null) {
+                results.put(eventId, BulkRSVPResult.builder().eventId(eventId).error(rejection).build());
+                continue;
+            }
+            RSVP.RSVPStatus status = admissionLedger.admit(eventId, event.getCapacity());
+            admitted.put(eventId, status);
+            results.put(eventId, BulkRSVPResult.builder().eventId(eventId).status(status).build());
+        }
+        if (admitted.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // A concurrent request joined these first; the places taken for them here go back on commit
+        for (Long eventId : insertRsvps(user.getId(), admitted, now)) {
+            admissionLedger.leave(eventId, admitted.remove(eventId));
+            results.put(eventId, BulkRSVPResult.builder().eventId(eventId).error("You have already RSVP'd to this event").build());
+        }
+        if (admitted.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+
+        Map<Long, String> messages = new LinkedHashMap<>();
+        Map<Long, int[]> deltas = new LinkedHashMap<>();
+        admitted.forEach((eventId, status) -> {
+            boolean confirmed = status == RSVP.RSVPStatus.CONFIRMED;
+            messages.put(eventId, user.getFirstName() + " " + user.getLastName() + " has "
+                    + (confirmed ? "confirmed" : "joined waitlist for") + " your event: " + events.get(eventId).getTitle());
+            deltas.put(eventId, new int[]{confirmed ? 1 : 0, confirmed ? 0 : 1});
+        });
+        notifyOrganizers(events, messages, eventId -> admitted.get(eventId) == RSVP.RSVPStatus.CONFIRMED
+                ? Notification.NotificationType.RSVP_CONFIRMED : Notification.NotificationType.RSVP_WAITLIST, now);
+        deltas.forEach((eventId, delta) -> attendanceCounters.adjust(eventId, delta[0], delta[1]));
+
+        // The batch insert returns no keys, so the new rows are read back for the waitlist index
+        rsvpRepository.findUserEntriesByUserIdAndEventIdIn(user.getId(), admitted.keySet())
+                .forEach(entry -> waitlistIndex.added(entry.getEventId(), entry.getId(), userEmail, entry.getCreatedAt(), entry.getStatus()));
+        return new ArrayList<>(results.values());
+    }
+
+    @Transactional
+    public List<BulkRSVPResult> cancelRSVPs(List<Long> eventIds, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        List<Long> ids = eventIds.stream().distinct().toList();
+
+        Map<Long, RSVPRepository.UserEntry> rsvps = rsvpRepository.findUserEntriesByUserIdAndEventIdIn(user.getId(), ids).stream()
+                .collect(Collectors.toMap(RSVPRepository.UserEntry::getEventId, Function.identity()));
+        Map<Long, Event> events = rsvps.isEmpty() ? Map.of() : loadEvents(rsvps.keySet());
+
+        List<BulkRSVPResult> results = new ArrayList<>(ids.size());
+        Map<Long, String> messages = new LinkedHashMap<>();
+        Map<Long, int[]> deltas = new LinkedHashMap<>();
+        for (Long eventId : ids) {
+            RSVPRepository.UserEntry rsvp = rsvps.get(eventId);
+            if (rsvp == null) {
+                results.add(BulkRSVPResult.builder().eventId(eventId).error("RSVP not found").build());
+                continue;
+            }
+            boolean wasConfirmed = rsvp.getStatus() == RSVP.RSVPStatus.CONFIRMED;
+            messages.put(eventId, user.getFirstName() + " " + user.getLastName() + " has left your event: "
+                    + events.get(eventId).getTitle());
+            deltas.put(eventId, new int[]{wasConfirmed ? -1 : 0, rsvp.getStatus() == RSVP.RSVPStatus.WAITLIST ? -1 : 0});
+            results.add(BulkRSVPResult.builder().eventId(eventId).status(RSVP.RSVPStatus.CANCELLED).build());
+        }
+        if (rsvps.isEmpty()) {
+            return results;
+        }
+
+        rsvpRepository.deleteAllByIdInBatch(rsvps.values().stream().map(RSVPRepository.UserEntry::getId).toList());
+        notifyOrganizers(events, messages, eventId -> Notification.NotificationType.EVENT_UPDATE, Timestamp.valueOf(LocalDateTime.now()));
+        deltas.forEach((eventId, delta) -> attendanceCounters.adjust(eventId, delta[0], delta[1]));
+
+        // Freed seats are filled by WaitlistRebalancer once this commits
+        rsvps.values().forEach(rsvp -> {
+            admissionLedger.leave(rsvp.getEventId(), rsvp.getStatus());
+            waitlistIndex.removed(rsvp.getEventId(), rsvp.getId());
+            eventPublisher.publishEvent(new RSVPCancelledEvent(rsvp.getEventId(), userEmail));
+        });
+        return results;
+    }
+
+    /**
+     * Inserts the admitted RSVPs and returns the events the user turned out to have joined already. A batch
+     * hitting the unique constraint is rolled back to a JDBC savepoint on the transaction's connection (the
+     * Hibernate dialect has none) and retried without the pairs now taken.
+     */
+    private Set<Long> insertRsvps(Long userId, Map<Long, RSVP.RSVPStatus> admitted, Timestamp now) {
+        Set<Long> conflicts = new HashSet<>();
+        while (true) {
+            List<Long> pending = admitted.keySet().stream().filter(eventId -> !conflicts.contains(eventId)).toList();
+            if (pending.isEmpty()) {
+                return conflicts;
+            }
+            List<Object[]> rows = pending.stream()
+                    .map(eventId -> new Object[]{userId, eventId, admitted.get(eventId).name(), now, now})
+                    .toList();
+            Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+            try {
+                jdbcTemplate.batchUpdate(INSERT_RSVP, rows);
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    connection.releaseSavepoint(savepoint);
+                    return null;
+                });
+                return conflicts;
+            } catch (DataIntegrityViolationException ex) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    connection.rollback(savepoint);
+                    return null;
+                });
+                List<Long> taken = rsvpRepository.findUserEntriesByUserIdAndEventIdIn(userId, pending).stream()
+                        .map(RSVPRepository.UserEntry::getEventId)
+                        .toList();
+                if (taken.isEmpty()) {
+                    throw ex;
+                }
+                conflicts.addAll(taken);
+            }
+        }
+    }
+
+    private Map<Long, Event> loadEvents(Collection<Long> ids) {
+        return eventRepository.findWithOrganizerByIdIn(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+    }
+
+    private void notifyOrganizers(Map<Long, Event> events, Map<Long, String> messages,
+                                  Function<Long, Notification.NotificationType> type, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(messages.size());
+        messages.forEach((eventId, message) -> rows.add(new Object[]{
+                events.get(eventId).getOrganizer().getId(), message, type.apply(eventId).name(), eventId, now}));
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, rows);
+        messages.forEach((eventId, message) -> notificationOutbox.send(events.get(eventId).getOrganizer().getEmail(), message));
+    }
+
+}
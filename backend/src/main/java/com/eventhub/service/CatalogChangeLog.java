@@ -0,0 +1,142 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.CatalogChange;
+import com.eventhub.dto.CatalogChangesResponse;
+import com.eventhub.dto.EventResponse;
+import com.eventhub.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sequenced log of committed catalog changes, so clients holding an event list can fetch only what changed.
+ * <p>
+ * Every {@link CatalogChangedEvent} is appended to a fixed-size ring once its transaction commits. A read
+ * returns the changes after a client's sequence, collapsed to one entry per event carrying the event's
+ * current summary, which makes applying a delta idempotent. Sequences continue from the start time in
+ * microseconds, so they keep increasing across restarts; a sequence that has been overwritten in the ring,
+ * or that this process never issued, answers {@code resync}. New changes are also pushed to
+ * {@value #TOPIC} at most once per {@code app.catalog.changes.push-interval-ms}.
+ */
+@Component
+public class CatalogChangeLog {
+
+    public static final String TOPIC = "/topic/catalog/changes";
+
+    private record Entry(long seq, Long eventId, CatalogChangedEvent.Type type) {
+    }
+
+    private final EventRepository eventRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int pageSize;
+
+    private final Entry[] ring;
+    private final long origin = System.currentTimeMillis() * 1000;
+    private long latest = origin;
+    private int size;
+
+    private volatile long pushed = origin;
+
+    public CatalogChangeLog(
+            EventRepository eventRepository,
+            SimpMessagingTemplate messagingTemplate,
+            @Value("${app.catalog.changes.capacity:10000}") int capacity,
+            @Value("${app.catalog.changes.page-size:500}") int pageSize) {
+        this.eventRepository = eventRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.ring = new Entry[capacity];
+        this.pageSize = pageSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        latest++;
+        ring[(int) (latest % ring.length)] = new Entry(latest, event.eventId(), event.type());
+        size = Math.min(size + 1, ring.length);
+    }
+
+    /**
+     * Changes after {@code since}, at most {@code app.catalog.changes.page-size} log entries per call.
+     * Without a sequence the caller only learns where the log currently ends.
+     */
+    public CatalogChangesResponse changesSince(Long since) {
+        List<Entry> entries = new ArrayList<>();
+        long next;
+        boolean hasMore;
+        synchronized (this) {
+            long oldest = latest - size;
+            if (since == null || since < oldest || since > latest) {
+                return CatalogChangesResponse.builder()
+                        .since(since)
+                        .next(latest)
+                        .resync(true)
+                        .hasMore(false)
+                        .changes(List.of())
+                        .build();
+            }
+            next = Math.min(latest, since + pageSize);
+            for (long seq = since + 1; seq <= next; seq++) {
+                entries.add(ring[(int) (seq % ring.length)]);
+            }
+            hasMore = next < latest;
+        }
+        return CatalogChangesResponse.builder()
+                .since(since)
+                .next(next)
+                .resync(false)
+                .hasMore(hasMore)
+                .changes(collapse(entries))
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.changes.push-interval-ms:1000}")
+    public void push() {
+        long from = pushed;
+        if (from == current()) {
+            return;
+        }
+        CatalogChangesResponse changes = changesSince(from);
+        if (Boolean.FALSE.equals(changes.getResync())) {
+            messagingTemplate.convertAndSend(TOPIC, changes);
+        }
+        pushed = changes.getNext();
+    }
+
+    private synchronized long current() {
+        return latest;
+    }
+
+    // Keeps the latest change per event, in sequence order, with the event as it is now
+    private List<CatalogChange> collapse(List<Entry> entries) {
+        Map<Long, Entry> lastChange = new LinkedHashMap<>();
+        entries.forEach(entry -> {
+            lastChange.remove(entry.eventId());
+            lastChange.put(entry.eventId(), entry);
+        });
+        if (lastChange.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EventResponse> current = eventRepository.findSummariesByIdIn(lastChange.keySet()).stream()
+                .collect(Collectors.toMap(EventResponse::getId, Function.identity()));
+        return lastChange.values().stream()
+                .map(entry -> {
+                    EventResponse event = current.get(entry.eventId());
+                    return CatalogChange.builder()
+                            .seq(entry.seq())
+                            .eventId(entry.eventId())
+                            .type(event == null ? CatalogChangedEvent.Type.DELETED : entry.type())
+                            .event(event)
+                            .build();
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,15 @@
+package com.eventhub.service;
+
+/**
+ * Published by {@link EventService} and {@link RSVPService} whenever an event or its attendance
+ * changes. Listeners that keep in-memory views of the catalog react to it after the transaction commits.
+ */
+public record CatalogChangedEvent(Long eventId, Type type) {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        ATTENDANCE_CHANGED
+    }
+}
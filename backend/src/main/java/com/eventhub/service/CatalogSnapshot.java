@@ -0,0 +1,139 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.CursorPage;
+import com.eventhub.dto.EventResponse;
+import com.eventhub.dto.EventView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * First page of {@code GET /api/events/upcoming}, serialized once and kept in memory as plain,
+ * gzip and deflate bytes so the hot anonymous request never touches the database or Jackson.
+ * <p>
+ * Catalog writes schedule a rebuild after a short debounce, so a burst of writes costs one rebuild.
+ * A snapshot is only served while its version matches {@link CatalogVersion} and its first event has
+ * not started yet; otherwise callers fall back to the regular query until the rebuild lands.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshot {
+
+    public record Variant(byte[] body, String contentEncoding, String etag) {
+    }
+
+    private record Snapshot(String version, LocalDateTime validUntil, Variant identity, Variant gzip, Variant deflate) {
+    }
+
+    private final EventService eventService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Duration debounce;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    public CatalogSnapshot(EventService eventService, CatalogVersion catalogVersion, ObjectMapper objectMapper,
+                           TaskScheduler taskScheduler,
+                           @Value("${app.cache.upcoming-snapshot.debounce:200ms}") Duration debounce) {
+        this.eventService = eventService;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.debounce = debounce;
+    }
+
+    // Runs before readiness switches to ACCEPTING_TRAFFIC, so the first request already hits a warm snapshot
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        // Read the version first: a write racing with the query can only make the snapshot look stale
+        String version = catalogVersion.etag();
+        CursorPage<EventResponse> page = eventService.getUpcomingEvents(null, null, EventView.DETAIL);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            LocalDateTime validUntil = page.getItems().isEmpty() ? null : page.getItems().get(0).getEventDate();
+            // Rebuilt because the first event started, the page differs under the same version
+            String etag = validUntil == null ? version : variantTag(version, Long.toString(validUntil.toEpochSecond(ZoneOffset.UTC), 36));
+            snapshot = new Snapshot(
+                    version,
+                    validUntil,
+                    new Variant(json, null, etag),
+                    new Variant(compress(json, true), "gzip", variantTag(etag, "gzip")),
+                    new Variant(compress(json, false), "deflate", variantTag(etag, "deflate")));
+            log.debug("Upcoming catalog snapshot rebuilt: {} bytes, {} gzipped", json.length, snapshot.gzip().body().length);
+        } catch (IOException ex) {
+            log.error("Could not serialize the upcoming catalog snapshot", ex);
+            snapshot = null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    /**
+     * Returns the best variant for the client's {@code Accept-Encoding}, or empty when the snapshot is stale.
+     */
+    public Optional<Variant> current(String acceptEncoding) {
+        Snapshot current = snapshot;
+        if (current == null || !current.version().equals(catalogVersion.etag())) {
+            return Optional.empty();
+        }
+        if (current.validUntil() != null && !LocalDateTime.now().isBefore(current.validUntil())) {
+            // The first event has started and dropped out of "upcoming"
+            scheduleRebuild();
+            return Optional.empty();
+        }
+
+        String accepted = acceptEncoding == null ? "" : acceptEncoding.toLowerCase();
+        if (accepted.contains("gzip")) {
+            return Optional.of(current.gzip());
+        }
+        if (accepted.contains("deflate")) {
+            return Optional.of(current.deflate());
+        }
+        return Optional.of(current.identity());
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                // Cleared before rebuilding, so writes landing during the rebuild schedule another one
+                rebuildPending.set(false);
+                rebuild();
+            }, Instant.now().plus(debounce));
+        }
+    }
+
+    private static byte[] compress(byte[] json, boolean gzip) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : new DeflaterOutputStream(buffer)) {
+            out.write(json);
+        }
+        return buffer.toByteArray();
+    }
+
+    // Each encoding, and each first event, is a different representation with its own strong ETag
+    private static String variantTag(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+}
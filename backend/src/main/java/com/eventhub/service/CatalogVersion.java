@@ -0,0 +1,48 @@
+package com.eventhub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap version stamp for everything the public catalog endpoints return.
+ * The stamp combines the process start time with a counter bumped after each committed
+ * catalog or attendance write, so it never repeats across restarts and never needs a query.
+ * Listings that depend on the clock as well (upcoming events, suggestions) use {@link #clockEtag()},
+ * which also changes every {@code app.catalog.clock-bucket}, so events that have started drop out
+ * of cached copies within one bucket even when nothing was written.
+ */
+@Component
+public class CatalogVersion {
+    
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong modifications = new AtomicLong();
+    private final long clockBucketMillis;
+    
+    public CatalogVersion(@Value("${app.catalog.clock-bucket:1m}") Duration clockBucket) {
+        this.clockBucketMillis = clockBucket.toMillis();
+    }
+    
+    /** Strong ETag value (quoted) for the current catalog state. */
+    public String etag() {
+        return "\"" + Long.toString(epoch, 36) + "-" + modifications.get() + "\"";
+    }
+    
+    /** Like {@link #etag()}, for responses that also change as time passes. */
+    public String clockEtag() {
+        return "\"" + Long.toString(epoch, 36) + "-" + modifications.get()
+                + "-" + Long.toString(System.currentTimeMillis() / clockBucketMillis, 36) + "\"";
+    }
+    
+    // Runs after the other catalog listeners so caches are already invalidated when the new version shows up
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        modifications.incrementAndGet();
+    }
+}
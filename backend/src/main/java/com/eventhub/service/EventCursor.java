@@ -0,0 +1,60 @@
+package com.eventhub.service;
+
+import com.eventhub.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position over the {@code (eventDate, id)} ordering used by the event listings.
+ * Clients only ever see the Base64 token and hand it back unchanged to fetch the next page.
+ * The attendee list reuses the same token over its {@code (createdAt, id)} join order.
+ */
+public record EventCursor(LocalDateTime eventDate, Long id) {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    /** Sorts before every event the application can hold (event dates are validated against "today"). */
+    public static final EventCursor START = new EventCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    
+    public static EventCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+    
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+    
+    /** Returns whichever of the two positions comes later in the listing order. */
+    public EventCursor max(EventCursor other) {
+        int cmp = eventDate.compareTo(other.eventDate);
+        if (cmp == 0) {
+            cmp = id.compareTo(other.id);
+        }
+        return cmp >= 0 ? this : other;
+    }
+    
+    public String encode() {
+        String raw = eventDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
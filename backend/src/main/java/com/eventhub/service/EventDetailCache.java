@@ -0,0 +1,54 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.EventResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of event detail responses keyed by event id.
+ * Entries are invalidated once a write touching the event has committed; hit, miss and
+ * eviction counts are published through Micrometer as the {@code eventDetails} cache.
+ */
+@Component
+public class EventDetailCache {
+    
+    private final Cache<Long, EventResponse> cache;
+    
+    public EventDetailCache(
+            @Value("${app.cache.event-detail.max-size:10000}") long maxSize,
+            @Value("${app.cache.event-detail.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventDetails");
+    }
+    
+    public EventResponse get(Long eventId, Function<Long, EventResponse> loader) {
+        return cache.get(eventId, loader);
+    }
+    
+    public void evict(Long eventId) {
+        cache.invalidate(eventId);
+    }
+    
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() != CatalogChangedEvent.Type.CREATED) {
+            evict(event.eventId());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.EventResponse;
+import com.eventhub.dto.RSVPResponse;
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.exception.UnauthorizedException;
+import com.eventhub.model.Event;
+import com.eventhub.model.User;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.RSVPRepository;
+import com.eventhub.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog as newline-delimited JSON, one event per line, and an event's attendees as CSV.
+ * <p>
+ * Rows flow from a database cursor straight into the response stream, so memory use does not grow with
+ * the catalog, and a slow client simply blocks the writer (and with it the cursor) until it catches up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    // One transaction for the whole export: every line comes from the same snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long exportCatalog(OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<EventResponse> rows = eventRepository.streamAllResponses();
+             SequenceWriter writer = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            Iterator<EventResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        if (written > 0) {
+            out.write('\n');
+        }
+        log.info("Exported {} events", written);
+        return written;
+    }
+
+    /**
+     * Attendee lists, paged or exported, are limited to the event's organizer and admins. Checked before an
+     * export starts streaming, while a failure can still become an error status.
+     */
+    @Transactional(readOnly = true)
+    public void checkAttendeeAccess(Long eventId, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        if (!event.getOrganizer().getId().equals(user.getId()) && !user.getRole().equals(User.Role.ADMIN)) {
+            throw new UnauthorizedException("You don't have permission to view this event's attendees");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAttendees(Long eventId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("rsvp_id,user_id,name,status,joined_at\r\n");
+        long written = 0;
+        try (Stream<RSVPResponse> rows = rsvpRepository.streamAttendees(eventId)) {
+            Iterator<RSVPResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                RSVPResponse rsvp = iterator.next();
+                writer.write(rsvp.getId() + "," + rsvp.getUserId() + "," + csv(rsvp.getUserName()) + ","
+                        + rsvp.getStatus() + "," + rsvp.getCreatedAt() + "\r\n");
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} attendees for event {}", written, eventId);
+        return written;
+    }
+
+    // RFC 4180 quoting; a leading formula character is neutralised so spreadsheets show the name as text
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
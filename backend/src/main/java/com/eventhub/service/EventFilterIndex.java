@@ -0,0 +1,364 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.EventFacets;
+import com.eventhub.model.Event;
+import com.eventhub.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Columnar in-memory index of published events backing {@code GET /api/events/search}.
+ * <p>
+ * Each event owns a slot; category and location columns are bitsets over slots, locations are
+ * dictionary-encoded, and a slot array sorted by {@code (eventDate, id)} answers date ranges and the
+ * keyset cursor with binary search. A query intersects bitsets, then walks the sorted array to emit
+ * the page in listing order. Facet counts per category and location ignore their own filter, so
+ * they show what selecting another value would return.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventFilterIndex {
+
+    private static final int MAX_LOCATION_FACETS = 10;
+    private static final int REFRESH_STRIPES = 64;
+
+    public record Result(List<Long> ids, EventFacets facets) {
+    }
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Refreshes of one event run one at a time, so the last to read its row is the last to apply it
+    private final Object[] refreshLocks = Stream.generate(Object::new).limit(REFRESH_STRIPES).toArray();
+
+    // Columns, indexed by slot
+    private long[] ids = new long[0];
+    private LocalDateTime[] dates = new LocalDateTime[0];
+    private final BitSet live = new BitSet();
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private final Map<Long, Integer> slotOf = new HashMap<>();
+    private final Map<Event.Category, BitSet> byCategory = new EnumMap<>(Event.Category.class);
+    private int[] locationOf = new int[0];
+
+    // Location dictionary, indexed by code; the code of a location no live event has is freed for reuse
+    private final Map<String, Integer> locationCodes = new HashMap<>();
+    private final List<String> locationNames = new ArrayList<>();
+    private final List<String> locationFolded = new ArrayList<>();
+    private final List<BitSet> byLocation = new ArrayList<>();
+    private final List<Integer> freeLocationCodes = new ArrayList<>();
+
+    // Live slots ordered by (eventDate, id)
+    private int[] sorted = new int[0];
+    private int sortedSize;
+
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<EventRepository.FilterDocument> all = eventRepository.findAllPublishedFilterDocuments();
+
+        Set<Long> changed;
+        lock.writeLock().lock();
+        try {
+            clear();
+            all.forEach(this::append);
+            sortAll();
+            rebuilding = false;
+            changed = new HashSet<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Writes that committed while the snapshot was loading may be missing from it
+        changed.forEach(this::refresh);
+        ready = true;
+        log.info("Filter index built with {} events and {} locations", all.size(), locationCodes.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() != CatalogChangedEvent.Type.ATTENDANCE_CHANGED) {
+            refresh(event.eventId());
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matching event ids after the cursor, in listing order, with facet counts.
+     */
+    public Result search(Event.Category category, String location, LocalDateTime startDate,
+                         LocalDateTime endDate, EventCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = startDate == null ? 0 : lowerBound(startDate, Long.MIN_VALUE);
+            int to = endDate == null ? sortedSize : lowerBound(endDate, Long.MAX_VALUE);
+
+            BitSet base;
+            if (startDate == null && endDate == null) {
+                base = (BitSet) live.clone();
+            } else {
+                base = new BitSet(ids.length);
+                for (int pos = from; pos < to; pos++) {
+                    base.set(sorted[pos]);
+                }
+            }
+            BitSet categoryMask = category == null ? null : byCategory.getOrDefault(category, new BitSet());
+            BitSet locationMask = location == null ? null : locationMask(SearchText.normalize(location));
+
+            BitSet matches = (BitSet) base.clone();
+            and(matches, categoryMask);
+            and(matches, locationMask);
+
+            List<Long> page = new ArrayList<>(limit);
+            for (int pos = Math.max(from, upperBound(after)); pos < to && page.size() < limit; pos++) {
+                if (matches.get(sorted[pos])) {
+                    page.add(ids[sorted[pos]]);
+                }
+            }
+            return new Result(page, facets(base, categoryMask, locationMask));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private EventFacets facets(BitSet base, BitSet categoryMask, BitSet locationMask) {
+        BitSet forCategories = (BitSet) base.clone();
+        and(forCategories, locationMask);
+        Map<Event.Category, Integer> categories = new EnumMap<>(Event.Category.class);
+        byCategory.forEach((category, slots) -> {
+            int count = intersectionSize(forCategories, slots);
+            if (count > 0) {
+                categories.put(category, count);
+            }
+        });
+
+        BitSet forLocations = (BitSet) base.clone();
+        and(forLocations, categoryMask);
+        List<Map.Entry<String, Integer>> locationCounts = new ArrayList<>();
+        for (int code = 0; code < locationNames.size(); code++) {
+            if (locationNames.get(code) == null) {
+                continue;
+            }
+            int count = intersectionSize(forLocations, byLocation.get(code));
+            if (count > 0) {
+                locationCounts.add(Map.entry(locationNames.get(code), count));
+            }
+        }
+        Map<String, Integer> locations = new LinkedHashMap<>();
+        locationCounts.stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_LOCATION_FACETS)
+                .forEach(entry -> locations.put(entry.getKey(), entry.getValue()));
+
+        return EventFacets.builder()
+                .categories(categories)
+                .locations(locations)
+                .build();
+    }
+
+    // Substring match over the dictionary, so each distinct location is tested once
+    private BitSet locationMask(String folded) {
+        BitSet mask = new BitSet();
+        for (int code = 0; code < locationFolded.size(); code++) {
+            String name = locationFolded.get(code);
+            if (name != null && name.contains(folded)) {
+                mask.or(byLocation.get(code));
+            }
+        }
+        return mask;
+    }
+
+    private static void and(BitSet target, BitSet mask) {
+        if (mask != null) {
+            target.and(mask);
+        }
+    }
+
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet copy = (BitSet) a.clone();
+        copy.and(b);
+        return copy.cardinality();
+    }
+
+    private void refresh(Long eventId) {
+        synchronized (refreshLocks[Math.floorMod(eventId.hashCode(), REFRESH_STRIPES)]) {
+            var document = eventRepository.findFilterDocumentById(eventId);
+            lock.writeLock().lock();
+            try {
+                remove(eventId);
+                document.filter(EventRepository.FilterDocument::getPublished).ifPresent(this::insert);
+                if (rebuilding) {
+                    changedDuringRebuild.add(eventId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Callers hold the write lock
+    private void clear() {
+        ids = new long[0];
+        dates = new LocalDateTime[0];
+        locationOf = new int[0];
+        live.clear();
+        freeSlots.clear();
+        slotOf.clear();
+        byCategory.clear();
+        locationCodes.clear();
+        locationNames.clear();
+        locationFolded.clear();
+        byLocation.clear();
+        freeLocationCodes.clear();
+        sorted = new int[0];
+        sortedSize = 0;
+    }
+
+    // Callers hold the write lock; fills the columns without touching the sorted array
+    private int append(EventRepository.FilterDocument document) {
+        int slot = freeSlots.isEmpty() ? ids.length : freeSlots.remove(freeSlots.size() - 1);
+        if (slot == ids.length) {
+            int capacity = Math.max(16, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            locationOf = Arrays.copyOf(locationOf, capacity);
+            for (int free = capacity - 1; free > slot; free--) {
+                freeSlots.add(free);
+            }
+        }
+
+        ids[slot] = document.getId();
+        dates[slot] = document.getEventDate();
+        locationOf[slot] = locationCode(document.getLocation());
+        live.set(slot);
+        slotOf.put(document.getId(), slot);
+        byCategory.computeIfAbsent(document.getCategory(), c -> new BitSet()).set(slot);
+        byLocation.get(locationOf[slot]).set(slot);
+        return slot;
+    }
+
+    // Callers hold the write lock
+    private void insert(EventRepository.FilterDocument document) {
+        int slot = append(document);
+        int pos = lowerBound(dates[slot], ids[slot]);
+        ensureSortedCapacity();
+        System.arraycopy(sorted, pos, sorted, pos + 1, sortedSize - pos);
+        sorted[pos] = slot;
+        sortedSize++;
+    }
+
+    // Callers hold the write lock
+    private void remove(Long eventId) {
+        Integer slot = slotOf.remove(eventId);
+        if (slot == null) {
+            return;
+        }
+        int pos = lowerBound(dates[slot], ids[slot]);
+        System.arraycopy(sorted, pos + 1, sorted, pos, sortedSize - pos - 1);
+        sortedSize--;
+
+        live.clear(slot);
+        byCategory.values().forEach(slots -> slots.clear(slot));
+        int code = locationOf[slot];
+        byLocation.get(code).clear(slot);
+        if (byLocation.get(code).isEmpty()) {
+            locationCodes.remove(locationNames.get(code));
+            locationNames.set(code, null);
+            locationFolded.set(code, null);
+            freeLocationCodes.add(code);
+        }
+        dates[slot] = null;
+        freeSlots.add(slot);
+    }
+
+    // Callers hold the write lock
+    private int locationCode(String location) {
+        String name = location == null ? "" : location.trim();
+        return locationCodes.computeIfAbsent(name, n -> {
+            if (!freeLocationCodes.isEmpty()) {
+                int code = freeLocationCodes.remove(freeLocationCodes.size() - 1);
+                locationNames.set(code, n);
+                locationFolded.set(code, SearchText.normalize(n));
+                return code;
+            }
+            locationNames.add(n);
+            locationFolded.add(SearchText.normalize(n));
+            byLocation.add(new BitSet());
+            return locationNames.size() - 1;
+        });
+    }
+
+    private void sortAll() {
+        sorted = live.stream()
+                .boxed()
+                .sorted(Comparator.<Integer, LocalDateTime>comparing(slot -> dates[slot]).thenComparingLong(slot -> ids[slot]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        sortedSize = sorted.length;
+    }
+
+    private void ensureSortedCapacity() {
+        if (sortedSize == sorted.length) {
+            sorted = Arrays.copyOf(sorted, Math.max(16, sorted.length * 2));
+        }
+    }
+
+    // First position whose (eventDate, id) is not before the given key
+    private int lowerBound(LocalDateTime date, long id) {
+        int low = 0;
+        int high = sortedSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int slot = sorted[mid];
+            int cmp = dates[slot].compareTo(date);
+            if (cmp < 0 || (cmp == 0 && ids[slot] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position strictly after the cursor
+    private int upperBound(EventCursor after) {
+        return after.id() == Long.MAX_VALUE ? lowerBound(after.eventDate(), Long.MAX_VALUE)
+                : lowerBound(after.eventDate(), after.id() + 1);
+    }
+}
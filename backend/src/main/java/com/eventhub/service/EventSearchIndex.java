@@ -0,0 +1,270 @@
+package com.eventhub.service;
+
+import com.eventhub.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over event title, location and description, ranked with BM25F.
+ * <p>
+ * Every query term must match (AND semantics). The last term of the query, and any term written
+ * with a trailing {@code *}, also matches as a prefix so the index can serve search-as-you-type.
+ * The index is built once the application is ready and kept current from {@link CatalogChangedEvent}s;
+ * it stays empty unless {@code app.search.backend} is {@code memory}.
+ */
+@Component
+@Slf4j
+public class EventSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int REFRESH_STRIPES = 64;
+
+    private enum Field {
+        TITLE(3.0),
+        LOCATION(2.0),
+        DESCRIPTION(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private record Document(Set<String> terms, int[] lengths) {
+    }
+
+    private final EventRepository eventRepository;
+    private final SearchBackend backend;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Refreshes of one event run one at a time, so the last to read its row is the last to apply it
+    private final Object[] refreshLocks = Stream.generate(Object::new).limit(REFRESH_STRIPES).toArray();
+    // term -> event id -> term frequency per field
+    private NavigableMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+    private Map<Long, Document> documents = new HashMap<>();
+    private long[] totalLengths = new long[FIELDS.length];
+
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public EventSearchIndex(EventRepository eventRepository, @Value("${app.search.backend:memory}") SearchBackend backend) {
+        this.eventRepository = eventRepository;
+        this.backend = backend;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (backend != SearchBackend.MEMORY) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<EventRepository.SearchDocument> all = eventRepository.findAllSearchDocuments();
+
+        Set<Long> changed;
+        lock.writeLock().lock();
+        try {
+            postings = new TreeMap<>();
+            documents = new HashMap<>();
+            totalLengths = new long[FIELDS.length];
+            all.forEach(this::add);
+            rebuilding = false;
+            changed = new HashSet<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Writes that committed while the snapshot was loading may be missing from it
+        changed.forEach(this::refresh);
+        ready = true;
+        log.info("Search index built with {} events and {} terms", all.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (backend != SearchBackend.MEMORY) {
+            return;
+        }
+        // Attendance does not affect the indexed text; a deleted event reads back as absent
+        if (event.type() != CatalogChangedEvent.Type.ATTENDANCE_CHANGED) {
+            refresh(event.eventId());
+        }
+    }
+
+    /**
+     * Returns the ids of all events matching every term of the query, best match first.
+     */
+    public List<Long> search(String query) {
+        List<QueryTerm> terms = parse(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores;
+        lock.readLock().lock();
+        try {
+            scores = null;
+            for (QueryTerm term : terms) {
+                Map<Long, Double> termScores = score(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void refresh(Long eventId) {
+        synchronized (refreshLocks[Math.floorMod(eventId.hashCode(), REFRESH_STRIPES)]) {
+            var document = eventRepository.findSearchDocumentById(eventId);
+            lock.writeLock().lock();
+            try {
+                remove(eventId);
+                document.ifPresent(this::add);
+                if (rebuilding) {
+                    changedDuringRebuild.add(eventId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Callers hold the write lock
+    private void add(EventRepository.SearchDocument source) {
+        String[] texts = {source.getTitle(), source.getLocation(), source.getDescription()};
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] lengths = new int[FIELDS.length];
+
+        for (Field field : FIELDS) {
+            List<String> tokens = SearchText.tokenize(texts[field.ordinal()]);
+            lengths[field.ordinal()] = tokens.size();
+            totalLengths[field.ordinal()] += tokens.size();
+            for (String token : tokens) {
+                frequencies.computeIfAbsent(token, t -> new int[FIELDS.length])[field.ordinal()]++;
+            }
+        }
+
+        frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(source.getId(), tf));
+        documents.put(source.getId(), new Document(frequencies.keySet(), lengths));
+    }
+
+    // Callers hold the write lock
+    private void remove(Long eventId) {
+        Document document = documents.remove(eventId);
+        if (document == null) {
+            return;
+        }
+        for (Field field : FIELDS) {
+            totalLengths[field.ordinal()] -= document.lengths()[field.ordinal()];
+        }
+        for (String term : document.terms()) {
+            Map<Long, int[]> list = postings.get(term);
+            list.remove(eventId);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // Callers hold the read lock
+    private Map<Long, Double> score(QueryTerm term) {
+        Map<String, Map<Long, int[]>> matches = term.prefix()
+                ? postings.subMap(term.text(), true, term.text() + Character.MAX_VALUE, true)
+                : postings.containsKey(term.text()) ? Map.of(term.text(), postings.get(term.text())) : Map.of();
+
+        int documentCount = documents.size();
+        double[] averageLengths = new double[FIELDS.length];
+        for (Field field : FIELDS) {
+            averageLengths[field.ordinal()] = Math.max(1.0, (double) totalLengths[field.ordinal()] / Math.max(1, documentCount));
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map<Long, int[]> list : matches.values()) {
+            double idf = Math.log(1 + (documentCount - list.size() + 0.5) / (list.size() + 0.5));
+            for (Map.Entry<Long, int[]> posting : list.entrySet()) {
+                int[] lengths = documents.get(posting.getKey()).lengths();
+                double weightedTf = 0;
+                for (Field field : FIELDS) {
+                    int tf = posting.getValue()[field.ordinal()];
+                    if (tf > 0) {
+                        double norm = 1 - B + B * lengths[field.ordinal()] / averageLengths[field.ordinal()];
+                        weightedTf += field.weight * tf / norm;
+                    }
+                }
+                double score = idf * weightedTf * (K1 + 1) / (weightedTf + K1);
+                // A prefix expanding to several terms counts once, by its best expansion
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private record QueryTerm(String text, boolean prefix) {
+    }
+
+    private List<QueryTerm> parse(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        String[] words = query.trim().split("\\s+");
+        for (int w = 0; w < words.length; w++) {
+            List<String> tokens = SearchText.tokenize(words[w]);
+            for (int t = 0; t < tokens.size(); t++) {
+                boolean lastToken = t == tokens.size() - 1;
+                boolean prefix = lastToken && (words[w].endsWith("*") || w == words.length - 1)
+                        && tokens.get(t).length() >= MIN_PREFIX_LENGTH;
+                terms.add(new QueryTerm(tokens.get(t), prefix));
+            }
+        }
+        return terms;
+    }
+}
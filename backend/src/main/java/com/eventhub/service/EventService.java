@@ -1,36 +1,80 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.CursorPage;
 import com.eventhub.dto.EventRequest;
 import com.eventhub.dto.EventResponse;
+import com.eventhub.dto.EventView;
+import com.eventhub.dto.SuggestionResponse;
 import com.eventhub.exception.BadRequestException;
 import com.eventhub.exception.ResourceNotFoundException;
 import com.eventhub.exception.UnauthorizedException;
 import com.eventhub.model.Event;
 import com.eventhub.model.Notification;
-import com.eventhub.model.RSVP;
 import com.eventhub.model.User;
 import com.eventhub.repository.EventRepository;
 import com.eventhub.repository.NotificationRepository;
 import com.eventhub.repository.RSVPRepository;
 import com.eventhub.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import com.eventhub.security.EventTopicAuthorizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
-@RequiredArgsConstructor
 public class EventService {
     
+    private static final int DEFAULT_SUGGESTIONS = 8;
+    private static final int MAX_SUGGESTIONS = 20;
+    
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final RSVPRepository rsvpRepository;
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationOutbox notificationOutbox;
+    private final EventDetailCache eventDetailCache;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventSuggestIndex eventSuggestIndex;
+    private final EventFilterIndex eventFilterIndex;
+    private final PostgresFullTextSearch postgresFullTextSearch;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchBackend searchBackend;
+    
+    public EventService(
+            EventRepository eventRepository,
+            UserRepository userRepository,
+            RSVPRepository rsvpRepository,
+            NotificationRepository notificationRepository,
+            NotificationOutbox notificationOutbox,
+            EventDetailCache eventDetailCache,
+            EventSearchIndex eventSearchIndex,
+            EventSuggestIndex eventSuggestIndex,
+            EventFilterIndex eventFilterIndex,
+            PostgresFullTextSearch postgresFullTextSearch,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.search.backend:memory}") SearchBackend searchBackend) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.rsvpRepository = rsvpRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.eventDetailCache = eventDetailCache;
+        this.eventSearchIndex = eventSearchIndex;
+        this.eventSuggestIndex = eventSuggestIndex;
+        this.eventFilterIndex = eventFilterIndex;
+        this.postgresFullTextSearch = postgresFullTextSearch;
+        this.eventPublisher = eventPublisher;
+        this.searchBackend = searchBackend;
+    }
     
     @Transactional
     public EventResponse createEvent(EventRequest request, String userEmail) {
@@ -51,10 +95,12 @@ public class EventService {
                 .category(request.getCategory())
                 .posterUrl(request.getPosterUrl())
                 .published(request.getPublished())
+                .queuedAdmission(Boolean.TRUE.equals(request.getQueuedAdmission()))
                 .organizer(organizer)
                 .build();
         
         event = eventRepository.save(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(event.getId(), CatalogChangedEvent.Type.CREATED));
         return mapToResponse(event);
     }
     
@@ -78,30 +124,12 @@ public class EventService {
         event.setCategory(request.getCategory());
         event.setPosterUrl(request.getPosterUrl());
         event.setPublished(request.getPublished());
+        event.setQueuedAdmission(Boolean.TRUE.equals(request.getQueuedAdmission()));
         
         event = eventRepository.save(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(id, CatalogChangedEvent.Type.UPDATED));
         
-        // Notify all attendees about the update
-        List<RSVP> rsvps = rsvpRepository.findByEventId(id);
-        String updateMessage = "Event updated: " + event.getTitle() + " - Check the event for new details!";
-        
-        for (RSVP rsvp : rsvps) {
-            Notification notification = Notification.builder()
-                    .user(rsvp.getUser())
-                    .message(updateMessage)
-                    .type(Notification.NotificationType.EVENT_UPDATE)
-                    .relatedEventId(id)
-                    .build();
-            
-            notificationRepository.save(notification);
-            
-            messagingTemplate.convertAndSendToUser(
-                    rsvp.getUser().getEmail(),
-                    "/queue/notifications",
-                    updateMessage
-            );
-        }
-        
+        // Attendees are notified by NotificationFanout once this update commits
         return mapToResponse(event);
     }
     
@@ -120,61 +148,173 @@ public class EventService {
         // Delete all notifications related to this event first
         notificationRepository.deleteByRelatedEventId(id);
         
+        // Attendees keep a cancellation notice; the live push is one message on the event's topic
+        String cancelMessage = "Event cancelled: " + event.getTitle();
+        if (notificationRepository.insertForEventAttendees(id, cancelMessage,
+                Notification.NotificationType.EVENT_CANCELLED.name(), LocalDateTime.now()) > 0) {
+            notificationOutbox.broadcast(EventTopicAuthorizer.eventTopic(id), cancelMessage);
+        }
+        
         // Delete all RSVPs for this event
         rsvpRepository.deleteByEventId(id);
         
         // Then delete the event
         eventRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent(id, CatalogChangedEvent.Type.DELETED));
     }
     
-    @Transactional(readOnly = true)
+    // Deliberately not transactional: a warm cache answers without touching the database
     public EventResponse getEventById(Long id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
-        return mapToResponse(event);
+        return eventDetailCache.get(id, eventId -> eventRepository.findResponseById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found")));
     }
     
     @Transactional(readOnly = true)
-    public List<EventResponse> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<EventResponse> getAllEvents(String cursor, Integer size, EventView view) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = EventCursor.pageSize(size);
+        return toPage(view == EventView.SUMMARY
+                ? eventRepository.findSummaryPageAfter(after.eventDate(), after.id(), limit(pageSize))
+                : eventRepository.findResponsePageAfter(after.eventDate(), after.id(), limit(pageSize)), pageSize);
     }
     
     @Transactional(readOnly = true)
-    public List<EventResponse> getUpcomingEvents() {
-        return eventRepository.findByEventDateAfter(LocalDateTime.now()).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<EventResponse> getUpcomingEvents(String cursor, Integer size, EventView view) {
+        // Never resume before "now", so events that started since the previous page drop out
+        EventCursor after = EventCursor.decode(cursor).max(new EventCursor(LocalDateTime.now(), Long.MAX_VALUE));
+        int pageSize = EventCursor.pageSize(size);
+        return toPage(view == EventView.SUMMARY
+                ? eventRepository.findSummaryPageAfter(after.eventDate(), after.id(), limit(pageSize))
+                : eventRepository.findResponsePageAfter(after.eventDate(), after.id(), limit(pageSize)), pageSize);
     }
     
     @Transactional(readOnly = true)
-    public List<EventResponse> getEventsByOrganizer(Long organizerId) {
-        return eventRepository.findByOrganizerId(organizerId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<EventResponse> getEventsByOrganizer(Long organizerId, String cursor, Integer size, EventView view) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = EventCursor.pageSize(size);
+        return toPage(view == EventView.SUMMARY
+                ? eventRepository.findSummaryPageByOrganizerAfter(organizerId, after.eventDate(), after.id(), limit(pageSize))
+                : eventRepository.findResponsePageByOrganizerAfter(organizerId, after.eventDate(), after.id(), limit(pageSize)),
+                pageSize);
     }
     
     @Transactional(readOnly = true)
-    public List<EventResponse> searchEvents(Event.Category category, String location, 
-                                          LocalDateTime startDate, LocalDateTime endDate) {
-        return eventRepository.searchEvents(category, location, startDate, endDate).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<EventResponse> searchEvents(Event.Category category, String location,
+                                                  LocalDateTime startDate, LocalDateTime endDate,
+                                                  String cursor, Integer size, EventView view) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = EventCursor.pageSize(size);
+        if (!eventFilterIndex.isReady()) {
+            return toPage(view == EventView.SUMMARY
+                    ? eventRepository.searchSummaryPageAfter(
+                            category, location, startDate, endDate, after.eventDate(), after.id(), limit(pageSize))
+                    : eventRepository.searchResponsePageAfter(
+                            category, location, startDate, endDate, after.eventDate(), after.id(), limit(pageSize)),
+                    pageSize);
+        }
+        
+        EventFilterIndex.Result result = eventFilterIndex.search(category, location, startDate, endDate, after, pageSize + 1);
+        CursorPage<EventResponse> page = toPage(findInOrder(result.ids(), view), pageSize);
+        page.setFacets(result.facets());
+        return page;
     }
     
     @Transactional(readOnly = true)
-    public List<EventResponse> searchByKeyword(String keyword) {
-        return eventRepository.searchByKeyword(keyword).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<EventResponse> searchByKeyword(String keyword, String cursor, Integer size, EventView view) {
+        int pageSize = EventCursor.pageSize(size);
+        switch (effectiveSearchBackend()) {
+            case MEMORY -> {
+                List<Long> ranked = eventSearchIndex.search(keyword);
+                int from = Math.min(RankedCursor.decode(cursor).offset(), ranked.size());
+                int to = Math.min(from + pageSize, ranked.size());
+                return toRankedPage(ranked.subList(from, to), to < ranked.size() ? to : null, null, view);
+            }
+            case POSTGRES -> {
+                int from = RankedCursor.decode(cursor).offset();
+                List<EventRepository.FullTextHit> hits = postgresFullTextSearch.search(keyword, from, pageSize + 1);
+                boolean hasMore = hits.size() > pageSize;
+                Map<Long, String> highlights = new LinkedHashMap<>();
+                hits.stream().limit(pageSize).forEach(hit -> highlights.put(hit.getId(), hit.getSnippet()));
+                return toRankedPage(List.copyOf(highlights.keySet()), hasMore ? from + pageSize : null, highlights, view);
+            }
+            default -> {
+                EventCursor after = EventCursor.decode(cursor);
+                return toPage(view == EventView.SUMMARY
+                        ? eventRepository.searchSummariesByKeywordPageAfter(keyword, after.eventDate(), after.id(), limit(pageSize))
+                        : eventRepository.searchResponsesByKeywordPageAfter(keyword, after.eventDate(), after.id(), limit(pageSize)),
+                        pageSize);
+            }
+        }
     }
     
-    private EventResponse mapToResponse(Event event) {
-        Long confirmedCount = rsvpRepository.countConfirmedByEventId(event.getId());
-        if (confirmedCount == null) {
-            confirmedCount = 0L;
+    // Served from memory only, so keystroke traffic never reaches the database
+    public List<SuggestionResponse> suggest(String prefix, Integer limit) {
+        int count = limit == null ? DEFAULT_SUGGESTIONS : Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return eventSuggestIndex.suggest(prefix, count);
+    }
+    
+    private SearchBackend effectiveSearchBackend() {
+        return switch (searchBackend) {
+            // The in-memory index is still being built during startup
+            case MEMORY -> eventSearchIndex.isReady() ? SearchBackend.MEMORY : SearchBackend.LIKE;
+            // Configured for PostgreSQL but running on another database, e.g. H2 in the dev profile
+            case POSTGRES -> postgresFullTextSearch.isAvailable() ? SearchBackend.POSTGRES : SearchBackend.LIKE;
+            case LIKE -> SearchBackend.LIKE;
+        };
+    }
+    
+    // Fetch one extra row so we know whether another page exists without a COUNT query
+    private Pageable limit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+    
+    // Loads the rows for ids ranked or filtered in memory, keeping their order and skipping deleted events
+    private List<EventResponse> findInOrder(List<Long> ids, EventView view) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        Map<Long, EventResponse> rows = new HashMap<>();
+        (view == EventView.SUMMARY ? eventRepository.findSummariesByIdIn(ids) : eventRepository.findResponsesByIdIn(ids))
+                .forEach(row -> rows.put(row.getId(), row));
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    private CursorPage<EventResponse> toRankedPage(List<Long> pageIds, Integer nextOffset,
+                                                   Map<Long, String> highlights, EventView view) {
+        List<EventResponse> items = findInOrder(pageIds, view);
+        
+        return CursorPage.<EventResponse>builder()
+                .items(items)
+                .nextCursor(nextOffset != null ? new RankedCursor(nextOffset).encode() : null)
+                .hasMore(nextOffset != null)
+                .size(items.size())
+                .highlights(highlights)
+                .build();
+    }
+    
+    private CursorPage<EventResponse> toPage(List<EventResponse> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<EventResponse> items = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            EventResponse last = items.get(items.size() - 1);
+            nextCursor = new EventCursor(last.getEventDate(), last.getId()).encode();
+        }
+        
+        return CursorPage.<EventResponse>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+    
+    private EventResponse mapToResponse(Event event) {
+        long confirmedCount = event.getAttendeeCount();
         return EventResponse.builder()
                 .id(event.getId())
                 .title(event.getTitle())
@@ -185,9 +325,11 @@ public class EventService {
                 .category(event.getCategory())
                 .posterUrl(event.getPosterUrl())
                 .published(event.getPublished())
+                .queuedAdmission(event.getQueuedAdmission())
                 .organizerId(event.getOrganizer().getId())
                 .organizerName(event.getOrganizer().getFirstName() + " " + event.getOrganizer().getLastName())
                 .attendeeCount(confirmedCount)
+                .waitlistCount(event.getWaitlistCount().longValue())
                 .isFull(confirmedCount >= event.getCapacity())
                 .createdAt(event.getCreatedAt())
                 .updatedAt(event.getUpdatedAt())
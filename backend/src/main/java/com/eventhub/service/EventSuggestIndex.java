@@ -0,0 +1,251 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.SuggestionResponse;
+import com.eventhub.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Typeahead over event titles, distinct locations and organizer names.
+ * <p>
+ * Every word of a phrase starts a key ("Tunisia Tech Summit" is reachable from "tun", "tech" and "sum"),
+ * and the keys are kept in a sorted array so a prefix resolves to a contiguous run found by binary search.
+ * Matches are ranked by their best event: sooner and better-attended events come first, past events last.
+ * The array is rebuilt in the background, {@code app.suggest.rebuild-debounce} after titles, locations
+ * or events change, so a burst of writes costs one rebuild and none runs on the committing thread;
+ * attendance updates only touch the per-event counters read at query time.
+ */
+@Component
+@Slf4j
+public class EventSuggestIndex {
+
+    private static final double PAST_EVENT_WEIGHT = 0.05;
+    // Upcoming weight decays hyperbolically with time to the event: 1/2 at 30 days out, 1/3 at 60
+    private static final double HORIZON_HOURS = 30 * 24;
+    // A phrase that starts with the prefix beats one that only contains a word starting with it
+    private static final double LEADING_MATCH_BOOST = 1.5;
+
+    private record Source(Long id, String title, String location, LocalDateTime eventDate,
+                          int confirmedCount, String organizerName) {
+    }
+
+    private record Phrase(SuggestionResponse.Type type, String text, List<Long> eventIds) {
+    }
+
+    // keys[i] is a word-aligned suffix of phrases[owners[i]], leading[i] when it is the whole phrase;
+    // covers counts the phrase changes recorded before it was built
+    private record Snapshot(String[] keys, int[] owners, boolean[] leading, Phrase[] phrases, long covers) {
+    }
+
+    private final EventRepository eventRepository;
+    private final TaskScheduler taskScheduler;
+    private final Duration debounce;
+
+    private final Map<Long, Source> sources = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new int[0], new boolean[0], new Phrase[0], 0);
+    private final AtomicLong phraseChanges = new AtomicLong();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final Object rebuildLock = new Object();
+
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    public EventSuggestIndex(EventRepository eventRepository, TaskScheduler taskScheduler,
+                             @Value("${app.suggest.rebuild-debounce:200ms}") Duration debounce) {
+        this.eventRepository = eventRepository;
+        this.taskScheduler = taskScheduler;
+        this.debounce = debounce;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+
+        List<EventRepository.SuggestSource> all = eventRepository.findAllSuggestSources();
+
+        Set<Long> changed;
+        synchronized (this) {
+            phraseChanges.incrementAndGet();
+            sources.clear();
+            all.forEach(row -> sources.put(row.getId(), toSource(row)));
+            rebuilding = false;
+            changed = new HashSet<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+        }
+
+        // Writes that committed while the snapshot was loading may be missing from it
+        changed.forEach(this::reload);
+        rebuildSnapshot();
+        log.info("Suggest index built with {} keys", snapshot.keys().length);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        reload(event.eventId());
+        if (event.type() != CatalogChangedEvent.Type.ATTENDANCE_CHANGED) {
+            phraseChanges.incrementAndGet();
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Whether the served keys include every title, location and organizer change committed so far.
+     */
+    public boolean isCurrent() {
+        return snapshot.covers() == phraseChanges.get();
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        String query = String.join(" ", SearchText.tokenize(prefix));
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        Map<Integer, Double> scores = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        int start = Arrays.binarySearch(current.keys(), query);
+        for (int i = start >= 0 ? start : -start - 1; i < current.keys().length && current.keys()[i].startsWith(query); i++) {
+            int owner = current.owners()[i];
+            double score = score(current.phrases()[owner], now);
+            scores.merge(owner, current.leading()[i] ? score * LEADING_MATCH_BOOST : score, Math::max);
+        }
+
+        return scores.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(entry -> current.phrases()[entry.getKey()].text()))
+                .limit(limit)
+                .map(entry -> toResponse(current.phrases()[entry.getKey()]))
+                .toList();
+    }
+
+    private void reload(Long eventId) {
+        var row = eventRepository.findSuggestSourceById(eventId);
+        synchronized (this) {
+            row.ifPresentOrElse(found -> sources.put(eventId, toSource(found)), () -> sources.remove(eventId));
+            if (rebuilding) {
+                changedDuringRebuild.add(eventId);
+            }
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                // Cleared before rebuilding, so changes landing during the rebuild schedule another one
+                rebuildPending.set(false);
+                rebuildSnapshot();
+            }, Instant.now().plus(debounce));
+        }
+    }
+
+    // Reads the live sources without blocking reloads; rebuilds themselves run one at a time
+    private void rebuildSnapshot() {
+        synchronized (rebuildLock) {
+            buildSnapshot(phraseChanges.get());
+        }
+    }
+
+    private void buildSnapshot(long covers) {
+        List<Phrase> phrases = new ArrayList<>();
+        Map<String, List<Long>> locations = new LinkedHashMap<>();
+        Map<String, String> locationTexts = new LinkedHashMap<>();
+        Map<String, List<Long>> organizers = new LinkedHashMap<>();
+        Map<String, String> organizerTexts = new LinkedHashMap<>();
+
+        for (Source source : sources.values()) {
+            phrases.add(new Phrase(SuggestionResponse.Type.TITLE, source.title(), List.of(source.id())));
+            group(source.location(), source.id(), locations, locationTexts);
+            group(source.organizerName(), source.id(), organizers, organizerTexts);
+        }
+        locations.forEach((key, ids) -> phrases.add(new Phrase(SuggestionResponse.Type.LOCATION, locationTexts.get(key), ids)));
+        organizers.forEach((key, ids) -> phrases.add(new Phrase(SuggestionResponse.Type.ORGANIZER, organizerTexts.get(key), ids)));
+
+        List<String> keys = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        List<Boolean> leading = new ArrayList<>();
+        for (int p = 0; p < phrases.size(); p++) {
+            List<String> tokens = SearchText.tokenize(phrases.get(p).text());
+            for (int t = 0; t < tokens.size(); t++) {
+                keys.add(String.join(" ", tokens.subList(t, tokens.size())));
+                owners.add(p);
+                leading.add(t == 0);
+            }
+        }
+
+        Integer[] order = new Integer[keys.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(keys::get));
+
+        String[] sortedKeys = new String[order.length];
+        int[] sortedOwners = new int[order.length];
+        boolean[] sortedLeading = new boolean[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys.get(order[i]);
+            sortedOwners[i] = owners.get(order[i]);
+            sortedLeading[i] = leading.get(order[i]);
+        }
+        snapshot = new Snapshot(sortedKeys, sortedOwners, sortedLeading, phrases.toArray(new Phrase[0]), covers);
+    }
+
+    // Locations and organizers are suggested once, however many events share them
+    private static void group(String text, Long eventId, Map<String, List<Long>> ids, Map<String, String> texts) {
+        String key = String.join(" ", SearchText.tokenize(text));
+        if (key.isEmpty()) {
+            return;
+        }
+        ids.computeIfAbsent(key, k -> new ArrayList<>()).add(eventId);
+        texts.putIfAbsent(key, text.trim());
+    }
+
+    private double score(Phrase phrase, LocalDateTime now) {
+        double best = 0;
+        for (Long eventId : phrase.eventIds()) {
+            Source source = sources.get(eventId);
+            if (source == null) {
+                continue;
+            }
+            double hoursAhead = Duration.between(now, source.eventDate()).toHours();
+            double timing = hoursAhead < 0 ? PAST_EVENT_WEIGHT : 1 / (1 + hoursAhead / HORIZON_HOURS);
+            best = Math.max(best, timing * (1 + Math.log1p(source.confirmedCount())));
+        }
+        return best;
+    }
+
+    private static Source toSource(EventRepository.SuggestSource row) {
+        return new Source(row.getId(), row.getTitle(), row.getLocation(), row.getEventDate(),
+                row.getConfirmedCount(), row.getOrganizerName());
+    }
+
+    private static SuggestionResponse toResponse(Phrase phrase) {
+        return SuggestionResponse.builder()
+                .text(phrase.text())
+                .type(phrase.type())
+                .eventId(phrase.type() == SuggestionResponse.Type.TITLE ? phrase.eventIds().get(0) : null)
+                .build();
+    }
+}
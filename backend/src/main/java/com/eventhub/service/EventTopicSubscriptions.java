@@ -0,0 +1,106 @@
+package com.eventhub.service;
+
+import com.eventhub.security.EventTopicAuthorizer;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Withdraws access to {@code /topic/events/{id}} from users who cancel their RSVP.
+ * <p>
+ * Once the cancellation commits, the cached grant is evicted from {@link EventTopicAuthorizer}, so the
+ * next subscription is checked again, and the subscriptions the user already has open on the topic are
+ * removed from the broker. The client is not told; it simply stops receiving the event's broadcasts.
+ * Deleting an event only evicts its grants: the cancellation notice is still broadcast on its topic.
+ */
+@Component
+public class EventTopicSubscriptions {
+
+    private final EventTopicAuthorizer eventTopicAuthorizer;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // "sessionId/subscriptionId" -> "eventId:email", and the open subscriptions of each grant
+    private final ConcurrentMap<String, String> grants = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> subscriptions = new ConcurrentHashMap<>();
+
+    public EventTopicSubscriptions(EventTopicAuthorizer eventTopicAuthorizer, SimpMessagingTemplate messagingTemplate) {
+        this.eventTopicAuthorizer = eventTopicAuthorizer;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRsvpCancelled(RSVPCancelledEvent event) {
+        eventTopicAuthorizer.revoke(event.eventId(), event.userEmail());
+        Set<String> open = subscriptions.remove(EventTopicAuthorizer.grantKey(event.eventId(), event.userEmail()));
+        if (open != null) {
+            open.forEach(key -> close(key, EventTopicAuthorizer.eventTopic(event.eventId())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.DELETED) {
+            eventTopicAuthorizer.revokeEvent(event.eventId());
+        }
+    }
+
+    // Only subscriptions the authorizer let through reach the broker and publish this event
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long eventId = EventTopicAuthorizer.eventTopicEventId(accessor.getDestination());
+        Principal user = event.getUser();
+        if (eventId != null && user != null) {
+            String grant = EventTopicAuthorizer.grantKey(eventId, user.getName());
+            String key = accessor.getSessionId() + "/" + accessor.getSubscriptionId();
+            grants.put(key, grant);
+            subscriptions.computeIfAbsent(grant, k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        forget(accessor.getSessionId() + "/" + accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + "/";
+        grants.keySet().stream().filter(key -> key.startsWith(prefix)).toList().forEach(this::forget);
+    }
+
+    private void forget(String key) {
+        String grant = grants.remove(key);
+        if (grant != null) {
+            subscriptions.computeIfPresent(grant, (k, open) -> {
+                open.remove(key);
+                return open.isEmpty() ? null : open;
+            });
+        }
+    }
+
+    // The broker drops a subscription on an UNSUBSCRIBE carrying its session and subscription ids
+    private void close(String key, String destination) {
+        grants.remove(key);
+        int slash = key.indexOf('/');
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(key.substring(0, slash));
+        accessor.setSubscriptionId(key.substring(slash + 1));
+        accessor.setDestination(destination);
+        messagingTemplate.getMessageChannel().send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+}
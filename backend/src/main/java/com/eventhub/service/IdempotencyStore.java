@@ -0,0 +1,104 @@
+package com.eventhub.service;
+
+import com.eventhub.exception.BadRequestException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting store of responses to POSTs sent with an {@code Idempotency-Key} header.
+ * <p>
+ * The first request for a key runs and its response is kept; retries with the same key replay it, and
+ * retries arriving while it is still running wait for it instead of running in parallel. Keys are scoped
+ * per caller and endpoint. A request that fails is forgotten so it can be retried, and waiters receive
+ * the same error. Entries live in this JVM only and are published through Micrometer as the
+ * {@code idempotency} cache.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record Entry(Object fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+
+    private final Cache<String, Entry> cache;
+
+    public IdempotencyStore(
+            @Value("${app.idempotency.max-size:50000}") long maxSize,
+            @Value("${app.idempotency.ttl:1h}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+    }
+
+    /**
+     * Runs the action once per key within the scope. The fingerprint identifies the request payload: reusing
+     * a key for a different payload is rejected rather than answered with an unrelated response.
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends ResponseEntity<?>> R execute(String key, String scope, Object fingerprint, Supplier<R> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = scope + "\n" + key;
+        Entry mine = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = cache.asMap().putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            if (!Objects.equals(existing.fingerprint(), fingerprint)) {
+                throw new BadRequestException(HEADER + " was already used for a different request");
+            }
+            return (R) replay(await(existing.response()));
+        }
+
+        try {
+            R response = action.get();
+            mine.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error ex) {
+            cache.asMap().remove(cacheKey, mine);
+            mine.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static ResponseEntity<?> await(CompletableFuture<ResponseEntity<?>> response) {
+        try {
+            return response.join();
+        } catch (CompletionException ex) {
+            // Rethrow the first execution's own exception so the error handler answers the same way
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static ResponseEntity<?> replay(ResponseEntity<?> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+}
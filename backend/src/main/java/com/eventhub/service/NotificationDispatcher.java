@@ -0,0 +1,199 @@
+package com.eventhub.service;
+
+import com.eventhub.model.OutboxMessage;
+import com.eventhub.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers the notification outbox written by {@link NotificationOutbox}.
+ * <p>
+ * Up to {@code app.notifications.outbox.workers} workers each claim a batch of due rows with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, push them, and delete the delivered ones in the same
+ * transaction, repeating while batches come back full. User notifications go through {@link NotificationReplay}
+ * so they can be replayed to a client that was disconnected. Delivery is at least once: a push that fails is
+ * retried with exponential backoff and dropped after {@code max-attempts}. Workers are started when a
+ * transaction that wrote to the outbox commits, and by a periodic poll that picks up retries and rows
+ * left by another instance.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationReplay notificationReplay;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final int maxWorkers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dropped;
+    private final Timer lag;
+
+    public NotificationDispatcher(
+            OutboxMessageRepository outboxMessageRepository,
+            SimpMessagingTemplate messagingTemplate,
+            NotificationReplay notificationReplay,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.outbox.workers:2}") int maxWorkers,
+            @Value("${app.notifications.outbox.batch-size:100}") int batchSize,
+            @Value("${app.notifications.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.notifications.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${app.notifications.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.notificationReplay = notificationReplay;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxWorkers = maxWorkers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(maxWorkers, maxWorkers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "notification-outbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, workers, "notificationOutbox");
+
+        this.delivered = Counter.builder("notifications.outbox.delivered")
+                .description("Outbox messages pushed over WebSocket")
+                .register(meterRegistry);
+        this.retried = Counter.builder("notifications.outbox.retried")
+                .description("Outbox pushes that failed and were rescheduled")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notifications.outbox.dropped")
+                .description("Outbox messages given up on after the last attempt")
+                .register(meterRegistry);
+        this.lag = Timer.builder("notifications.outbox.lag")
+                .description("Time from writing an outbox message to pushing it")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wake();
+    }
+
+    /**
+     * Starts a worker unless all of them are already draining.
+     */
+    public void wake() {
+        requested.set(true);
+        if (active.incrementAndGet() > maxWorkers) {
+            active.decrementAndGet();
+            return;
+        }
+        try {
+            workers.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            // Shutting down; what is left is delivered after the next start
+            active.decrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void drain() {
+        try {
+            while (requested.getAndSet(false)) {
+                Integer claimed;
+                do {
+                    claimed = transactionTemplate.execute(status -> deliverBatch());
+                } while (claimed != null && claimed == batchSize);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Notification outbox delivery failed, retrying on the next poll", ex);
+            return;
+        } finally {
+            active.decrementAndGet();
+        }
+        // A wake that arrived after the last check found every worker busy
+        if (requested.get()) {
+            wake();
+        }
+    }
+
+    private int deliverBatch() {
+        List<OutboxMessage> due = outboxMessageRepository.claimDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        List<Long> finished = new ArrayList<>(due.size());
+        for (OutboxMessage message : due) {
+            try {
+                if (message.getRecipient() == null) {
+                    messagingTemplate.convertAndSend(message.getDestination(), message.getPayload());
+                } else if (NotificationOutbox.NOTIFICATIONS_DESTINATION.equals(message.getDestination())) {
+                    notificationReplay.push(message.getRecipient(), message.getPayload());
+                } else {
+                    messagingTemplate.convertAndSendToUser(message.getRecipient(), message.getDestination(), message.getPayload());
+                }
+                delivered.increment();
+                lag.record(Duration.between(message.getCreatedAt(), LocalDateTime.now()));
+                finished.add(message.getId());
+            } catch (MessagingException ex) {
+                if (reschedule(message)) {
+                    retried.increment();
+                } else {
+                    dropped.increment();
+                    finished.add(message.getId());
+                    log.warn("Dropping notification {} for {} after {} attempts", message.getId(), message.getRecipient(), maxAttempts, ex);
+                }
+            }
+        }
+        // Rescheduled messages are still managed and are updated when the transaction commits
+        if (!finished.isEmpty()) {
+            outboxMessageRepository.deleteAllByIdInBatch(finished);
+        }
+        return due.size();
+    }
+
+    private boolean reschedule(OutboxMessage message) {
+        int attempts = message.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            return false;
+        }
+        long backoffMillis = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempts - 1, 20));
+        message.setAttempts(attempts);
+        message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMillis)));
+        return true;
+    }
+}
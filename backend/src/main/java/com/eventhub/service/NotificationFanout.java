@@ -0,0 +1,111 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Notification;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.NotificationRepository;
+import com.eventhub.repository.RSVPRepository;
+import com.eventhub.repository.UserRepository;
+import com.eventhub.security.EventTopicAuthorizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Tells every attendee of an event that it changed, once the update has committed.
+ * <p>
+ * Attendees are read in id-ordered chunks and each chunk's notifications are inserted in their own short
+ * transaction (sequence ids let Hibernate batch them). The live push is a single message to the event's
+ * topic, which the broker fans out to the attendees subscribed to it. Progress is published as
+ * {@code notifications.fanout.*} meters.
+ */
+@Component
+@Slf4j
+public class NotificationFanout {
+
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final Counter persisted;
+    private final Timer duration;
+
+    public NotificationFanout(
+            EventRepository eventRepository,
+            RSVPRepository rsvpRepository,
+            UserRepository userRepository,
+            NotificationRepository notificationRepository,
+            SimpMessagingTemplate messagingTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.fanout.chunk-size:500}") int chunkSize) {
+        this.eventRepository = eventRepository;
+        this.rsvpRepository = rsvpRepository;
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        this.persisted = Counter.builder("notifications.fanout.persisted")
+                .description("Event update notifications written")
+                .register(meterRegistry);
+        this.duration = Timer.builder("notifications.fanout.duration")
+                .description("Time to write every notification of one event update")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.UPDATED) {
+            eventRepository.findById(event.eventId()).ifPresent(updated -> duration.record(() ->
+                    fanOut(updated.getId(), "Event updated: " + updated.getTitle() + " - Check the event for new details!")));
+        }
+    }
+
+    private void fanOut(Long eventId, String message) {
+        long afterId = 0;
+        long total = 0;
+        List<RSVPRepository.Recipient> chunk;
+        do {
+            chunk = rsvpRepository.findRecipientsAfter(eventId, afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            persist(chunk, eventId, message);
+            afterId = chunk.get(chunk.size() - 1).getId();
+            total += chunk.size();
+        } while (chunk.size() == chunkSize);
+        if (total > 0) {
+            messagingTemplate.convertAndSend(EventTopicAuthorizer.eventTopic(eventId), message);
+        }
+        log.info("Notified {} attendees of event {} about its update", total, eventId);
+    }
+
+    private void persist(List<RSVPRepository.Recipient> chunk, Long eventId, String message) {
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.saveAll(chunk.stream()
+                .map(recipient -> Notification.builder()
+                        .user(userRepository.getReferenceById(recipient.getUserId()))
+                        .message(message)
+                        .type(Notification.NotificationType.EVENT_UPDATE)
+                        .relatedEventId(eventId)
+                        .build())
+                .toList()));
+        persisted.increment(chunk.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.eventhub.service;
+
+import com.eventhub.model.OutboxMessage;
+import com.eventhub.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Records user notifications to push over WebSocket as part of the caller's transaction.
+ * <p>
+ * Nothing is sent here: {@link NotificationDispatcher} delivers the rows once the transaction commits, so a
+ * rollback never produces a phantom notification and a slow broker never holds a database transaction open.
+ * Messages are saved through Hibernate with sequence ids, so a loop of {@link #send} calls is flushed as
+ * batched inserts.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    public static final String NOTIFICATIONS_DESTINATION = "/queue/notifications";
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final NotificationDispatcher notificationDispatcher;
+
+    // Registered once per transaction to start delivery as soon as it commits, instead of at the next poll
+    private final TransactionSynchronization wakeDispatcher = new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+            notificationDispatcher.wake();
+        }
+    };
+
+    public void send(String recipient, String message) {
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .recipient(recipient)
+                .destination(NOTIFICATIONS_DESTINATION)
+                .payload(message)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        wakeAfterCommit();
+    }
+
+    public void send(Collection<String> recipients, String message) {
+        recipients.forEach(recipient -> send(recipient, message));
+    }
+
+    /**
+     * Publishes the message to every subscriber of a broker destination, such as an event's topic.
+     */
+    public void broadcast(String destination, String message) {
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .destination(destination)
+                .payload(message)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        wakeAfterCommit();
+    }
+
+    private void wakeAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notificationDispatcher.wake();
+        } else if (!TransactionSynchronizationManager.getSynchronizations().contains(wakeDispatcher)) {
+            TransactionSynchronizationManager.registerSynchronization(wakeDispatcher);
+        }
+    }
+}
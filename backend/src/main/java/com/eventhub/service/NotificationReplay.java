@@ -0,0 +1,176 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.NotificationPush;
+import com.eventhub.dto.NotificationReplayResponse;
+import com.eventhub.model.PushedNotification;
+import com.eventhub.repository.PushedNotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequences pushes to {@code /user/queue/notifications} so a reconnecting client only receives what it missed.
+ * <p>
+ * Every push carries a sequence taken from the clock in microseconds (and kept increasing), and the last
+ * {@code app.notifications.replay.ring-size} pushes of each active user are kept in memory. A client resumes
+ * with the last sequence it saw: if the user's ring still reaches back that far the gap is answered from
+ * memory. Every push is also logged with its sequence for {@code app.notifications.replay.retention}, and an
+ * older gap is filled from that log with the newest {@code app.notifications.replay.db-limit} pushes before
+ * the ring. Event-topic broadcasts are not sequenced here; their notifications stay in the notification list.
+ */
+@Component
+public class NotificationReplay {
+
+    // Sent by the client on CONNECT and kept in the session for the replay subscription
+    public static final String LAST_SEQ_HEADER = "last-seq";
+    public static final String LAST_SEQ_ATTRIBUTE = "notifications.lastSeq";
+
+    private static final class Ring {
+        private final ArrayDeque<NotificationPush> pushes = new ArrayDeque<>();
+        // Every push after floor is still in the ring; latest is the last sequence handed out for the user
+        private long floor;
+        private long latest;
+
+        private Ring(long start) {
+            this.floor = start;
+            this.latest = start;
+        }
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PushedNotificationRepository pushedNotificationRepository;
+    private final int ringSize;
+    private final int dbLimit;
+    private final Duration retention;
+    private final Cache<String, Ring> rings;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter fromMemory;
+    private final Counter fromDatabase;
+
+    public NotificationReplay(
+            SimpMessagingTemplate messagingTemplate,
+            PushedNotificationRepository pushedNotificationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.replay.ring-size:50}") int ringSize,
+            @Value("${app.notifications.replay.db-limit:50}") int dbLimit,
+            @Value("${app.notifications.replay.retention:1d}") Duration retention,
+            @Value("${app.notifications.replay.idle-ttl:15m}") Duration idleTtl,
+            @Value("${app.notifications.replay.max-users:50000}") long maxUsers) {
+        this.messagingTemplate = messagingTemplate;
+        this.pushedNotificationRepository = pushedNotificationRepository;
+        this.ringSize = ringSize;
+        this.dbLimit = dbLimit;
+        this.retention = retention;
+        this.rings = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rings, "notificationReplay");
+
+        this.fromMemory = Counter.builder("notifications.replay")
+                .tag("source", "memory")
+                .description("Reconnects that were sent missed notifications, by where they were found")
+                .register(meterRegistry);
+        this.fromDatabase = Counter.builder("notifications.replay")
+                .tag("source", "database")
+                .description("Reconnects that were sent missed notifications, by where they were found")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pushes a notification to the user's sessions and remembers it for replay. The log entry is written in
+     * the caller's transaction.
+     */
+    public void push(String recipient, String message) {
+        Ring ring = ring(recipient);
+        // Sequencing and sending under the ring's lock keeps one user's pushes in sequence order
+        synchronized (ring) {
+            NotificationPush push = new NotificationPush(nextSeq(), message);
+            messagingTemplate.convertAndSendToUser(recipient, NotificationOutbox.NOTIFICATIONS_DESTINATION, push);
+            if (ring.pushes.size() == ringSize) {
+                ring.floor = ring.pushes.removeFirst().getSeq();
+            }
+            ring.pushes.addLast(push);
+            ring.latest = push.getSeq();
+            pushedNotificationRepository.save(PushedNotification.builder()
+                    .recipient(recipient)
+                    .seq(push.getSeq())
+                    .message(message)
+                    .build());
+        }
+    }
+
+    /**
+     * The pushes the user missed after {@code lastSeq}, or only where to resume from for a first connection.
+     * The live queue subscription must already be in place, so nothing sent after the answer is lost.
+     */
+    public NotificationReplayResponse replay(String recipient, Long lastSeq) {
+        Ring ring = ring(recipient);
+        long next;
+        long floor;
+        List<NotificationPush> recent;
+        synchronized (ring) {
+            next = ring.latest;
+            floor = ring.floor;
+            recent = lastSeq == null ? List.of()
+                    : ring.pushes.stream().filter(push -> push.getSeq() > lastSeq).toList();
+        }
+        if (lastSeq == null || lastSeq >= floor) {
+            if (!recent.isEmpty()) {
+                fromMemory.increment();
+            }
+            return new NotificationReplayResponse(next, recent);
+        }
+        // Older than this process or than the ring: the newest logged pushes up to where the ring starts,
+        // so a gap longer than db-limit drops its oldest pushes rather than the ones just before next
+        fromDatabase.increment();
+        List<NotificationPush> missed = new ArrayList<>(pushedNotificationRepository
+                .findByRecipientAndSeqGreaterThanAndSeqLessThanEqualOrderBySeqDesc(recipient, lastSeq, floor, PageRequest.of(0, dbLimit))
+                .stream()
+                .map(pushed -> new NotificationPush(pushed.getSeq(), pushed.getMessage()))
+                .toList());
+        Collections.reverse(missed);
+        missed.addAll(recent);
+        return new NotificationReplayResponse(next, missed);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.replay.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        pushedNotificationRepository.deletePushedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private Ring ring(String recipient) {
+        return rings.get(recipient, key -> new Ring(nextSeq()));
+    }
+
+    private long nextSeq() {
+        long now = toSeq(LocalDateTime.now());
+        return sequence.updateAndGet(previous -> Math.max(previous + 1, now));
+    }
+
+    private static long toSeq(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
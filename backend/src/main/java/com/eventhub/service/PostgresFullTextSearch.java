@@ -0,0 +1,64 @@
+package com.eventhub.service;
+
+import com.eventhub.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keyword search against the generated {@code events.search_document} column
+ * (see {@code db/postgresql/schema.sql}), ranked with {@code ts_rank} and highlighted with {@code ts_headline}.
+ * Only available when the application runs on PostgreSQL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresFullTextSearch {
+    
+    private final EventRepository eventRepository;
+    private final DataSource dataSource;
+    
+    private boolean available;
+    
+    @PostConstruct
+    public void detectDatabase() {
+        try (Connection connection = dataSource.getConnection()) {
+            available = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException ex) {
+            log.warn("Could not determine database type, PostgreSQL full-text search disabled", ex);
+            available = false;
+        }
+    }
+    
+    public boolean isAvailable() {
+        return available;
+    }
+    
+    public List<EventRepository.FullTextHit> search(String keyword, int offset, int limit) {
+        String tsquery = toTsQuery(keyword);
+        if (tsquery.isEmpty()) {
+            return List.of();
+        }
+        return eventRepository.fullTextSearch(tsquery, limit, offset);
+    }
+    
+    /**
+     * Builds an AND query over the words, the last one matching as a prefix. Accents are left in place for
+     * the database to fold the same way as the document. Words only contain letters and digits, so no
+     * tsquery operator can leak in from user input.
+     */
+    static String toTsQuery(String keyword) {
+        List<String> tokens = SearchText.words(keyword);
+        if (tokens.isEmpty()) {
+            return "";
+        }
+        return tokens.stream().collect(Collectors.joining(" & ")) + ":*";
+    }
+}
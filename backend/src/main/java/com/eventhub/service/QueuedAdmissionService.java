@@ -0,0 +1,173 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Event;
+import com.eventhub.model.Notification;
+import com.eventhub.model.RSVP;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.NotificationRepository;
+import com.eventhub.repository.RSVPRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admits one batch of queued RSVPs for an event in a single transaction.
+ * <p>
+ * Seats are claimed from {@link AdmissionLedger} in ticket order, then the RSVP and notification rows are
+ * written with JDBC batch inserts (identity keys would stop Hibernate from batching) and the event counters
+ * are adjusted once for the whole batch. Ticket holders who got an RSVP some other way in the meantime are
+ * left out rather than failing the batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class QueuedAdmissionService {
+
+    private static final String INSERT_RSVP =
+            "INSERT INTO rsvps (user_id, event_id, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (id, user_id, message, read, type, related_event_id, created_at) " +
+            "VALUES (nextval('notifications_seq'), ?, ?, false, ?, ?, ?)";
+
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final NotificationRepository notificationRepository;
+    private final AdmissionLedger admissionLedger;
+    private final AttendanceCounters attendanceCounters;
+    private final WaitlistIndex waitlistIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationOutbox notificationOutbox;
+
+    @Transactional
+    public void admit(Long eventId, List<AdmissionQueue.Ticket> tickets) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || !event.getPublished() || event.getEventDate().isBefore(LocalDateTime.now())) {
+            String message = "RSVPs are closed for the event you queued for";
+            tickets.forEach(ticket -> push(ticket.userEmail(), message));
+            return;
+        }
+
+        // Anyone who got an RSVP since queueing (or queued twice across batches) is skipped
+        Set<Long> seen = new HashSet<>(rsvpRepository.findUserIdsByEventIdAndUserIdIn(
+                eventId, tickets.stream().map(AdmissionQueue.Ticket::userId).toList()));
+        Map<AdmissionQueue.Ticket, RSVP.RSVPStatus> outcomes = new LinkedHashMap<>();
+        for (AdmissionQueue.Ticket ticket : tickets) {
+            if (seen.add(ticket.userId())) {
+                outcomes.put(ticket, admissionLedger.admit(eventId, event.getCapacity()));
+            }
+        }
+        if (outcomes.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Joined since the check above; the places taken for them go back on commit
+        Set<Long> conflicts = insertRsvps(eventId, outcomes, now);
+        outcomes.entrySet().removeIf(outcome -> {
+            if (!conflicts.contains(outcome.getKey().userId())) {
+                return false;
+            }
+            admissionLedger.leave(eventId, outcome.getValue());
+            return true;
+        });
+        if (outcomes.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> notificationRows = new ArrayList<>(outcomes.size());
+        int confirmed = 0;
+        for (Map.Entry<AdmissionQueue.Ticket, RSVP.RSVPStatus> outcome : outcomes.entrySet()) {
+            boolean admitted = outcome.getValue() == RSVP.RSVPStatus.CONFIRMED;
+            confirmed += admitted ? 1 : 0;
+            notificationRows.add(new Object[]{outcome.getKey().userId(), outcomeMessage(admitted, event),
+                    (admitted ? Notification.NotificationType.RSVP_CONFIRMED : Notification.NotificationType.RSVP_WAITLIST).name(),
+                    eventId, now});
+        }
+        int waitlisted = outcomes.size() - confirmed;
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, notificationRows);
+
+        // One summary for the organizer instead of a notification per attendee
+        String summary = confirmed + " confirmed and " + waitlisted + " waitlisted from the queue for your event: " + event.getTitle();
+        notificationRepository.save(Notification.builder()
+                .user(event.getOrganizer())
+                .message(summary)
+                .type(Notification.NotificationType.RSVP_CONFIRMED)
+                .relatedEventId(eventId)
+                .build());
+
+        attendanceCounters.adjust(eventId, confirmed, waitlisted);
+        // The batch insert returns no keys, so the new rows are read back for the waitlist index
+        waitlistIndex.added(eventId, rsvpRepository.findLineEntriesByEventIdAndUserIdIn(
+                eventId, outcomes.keySet().stream().map(AdmissionQueue.Ticket::userId).toList()));
+
+        outcomes.forEach((ticket, status) -> push(ticket.userEmail(), outcomeMessage(status == RSVP.RSVPStatus.CONFIRMED, event)));
+        push(event.getOrganizer().getEmail(), summary);
+    }
+
+    /**
+     * Inserts the RSVPs and returns the users who already held one. A batch hitting the unique constraint is
+     * rolled back to a JDBC savepoint and retried without them, as {@link BulkRSVPService} does.
+     */
+    private Set<Long> insertRsvps(Long eventId, Map<AdmissionQueue.Ticket, RSVP.RSVPStatus> outcomes, Timestamp now) {
+        Set<Long> conflicts = new HashSet<>();
+        while (true) {
+            List<Map.Entry<AdmissionQueue.Ticket, RSVP.RSVPStatus>> pending = outcomes.entrySet().stream()
+                    .filter(outcome -> !conflicts.contains(outcome.getKey().userId()))
+                    .toList();
+            if (pending.isEmpty()) {
+                return conflicts;
+            }
+            List<Object[]> rows = pending.stream()
+                    .map(outcome -> new Object[]{outcome.getKey().userId(), eventId, outcome.getValue().name(), now, now})
+                    .toList();
+            Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+            try {
+                jdbcTemplate.batchUpdate(INSERT_RSVP, rows);
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    connection.releaseSavepoint(savepoint);
+                    return null;
+                });
+                return conflicts;
+            } catch (DataIntegrityViolationException ex) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    connection.rollback(savepoint);
+                    return null;
+                });
+                List<Long> taken = rsvpRepository.findUserIdsByEventIdAndUserIdIn(eventId,
+                        pending.stream().map(outcome -> outcome.getKey().userId()).toList());
+                if (taken.isEmpty()) {
+                    throw ex;
+                }
+                conflicts.addAll(taken);
+            }
+        }
+    }
+
+    public void reportFailure(List<AdmissionQueue.Ticket> tickets) {
+        tickets.forEach(ticket -> push(ticket.userEmail(), "We could not process your queued RSVP, please try again"));
+    }
+
+    private static String outcomeMessage(boolean admitted, Event event) {
+        return admitted
+                ? "You're confirmed for: " + event.getTitle()
+                : "The event is full, you've been added to the waitlist for: " + event.getTitle();
+    }
+
+    private void push(String email, String message) {
+        notificationOutbox.send(email, message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eventhub.service;
+
+/**
+ * Published by {@link RSVPService} and {@link BulkRSVPService} for each RSVP a user cancels, so access
+ * granted for holding it can be withdrawn once the cancellation commits.
+ */
+public record RSVPCancelledEvent(Long eventId, String userEmail) {
+}
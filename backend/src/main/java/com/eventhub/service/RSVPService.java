@@ -1,6 +1,9 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.CursorPage;
+import com.eventhub.dto.QueueTicketResponse;
 import com.eventhub.dto.RSVPResponse;
+import com.eventhub.dto.WaitlistPositionResponse;
 import com.eventhub.exception.BadRequestException;
 import com.eventhub.exception.ResourceNotFoundException;
 import com.eventhub.model.Event;
@@ -12,7 +15,10 @@ import com.eventhub.repository.NotificationRepository;
 import com.eventhub.repository.RSVPRepository;
 import com.eventhub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,7 +34,12 @@ public class RSVPService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AdmissionLedger admissionLedger;
+    private final AttendanceCounters attendanceCounters;
+    private final AdmissionQueue admissionQueue;
+    private final WaitlistIndex waitlistIndex;
     
     @Transactional
     public RSVPResponse createRSVP(Long eventId, String userEmail) {
@@ -38,29 +49,10 @@ public class RSVPService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
         
-        Optional<RSVP> existingRSVP = rsvpRepository.findByUserIdAndEventId(user.getId(), eventId);
-        if (existingRSVP.isPresent()) {
-            throw new BadRequestException("You have already RSVP'd to this event");
-        }
-        
-        // Validation: Cannot RSVP to own event
-        if (event.getOrganizer().getId().equals(user.getId())) {
-            throw new BadRequestException("Organizers cannot RSVP to their own events");
-        }
-        
-        // Validation: Cannot RSVP to past events
-        if (event.getEventDate().isBefore(java.time.LocalDateTime.now())) {
-            throw new BadRequestException("Cannot RSVP to past events");
-        }
+        validateNewRSVP(user, event);
         
-        // Validation: Cannot RSVP to unpublished events
-        if (!event.getPublished()) {
-            throw new BadRequestException("Cannot RSVP to unpublished events");
-        }
-        
-        // Use database count to avoid race condition with lazy loading
-        Long confirmedCount = rsvpRepository.countConfirmedByEventId(eventId);
-        RSVP.RSVPStatus status = confirmedCount >= event.getCapacity() ? RSVP.RSVPStatus.WAITLIST : RSVP.RSVPStatus.CONFIRMED;
+        // Decided in memory, so concurrent RSVPs for the same event cannot both take the last seat
+        RSVP.RSVPStatus status = admissionLedger.admit(eventId, event.getCapacity());
         
         RSVP rsvp = RSVP.builder()
                 .user(user)
@@ -68,7 +60,12 @@ public class RSVPService {
                 .status(status)
                 .build();
         
-        rsvp = rsvpRepository.save(rsvp);
+        try {
+            rsvp = rsvpRepository.save(rsvp);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent duplicate request won the unique (user, event) constraint; the rollback returns our seat
+            throw new BadRequestException("You have already RSVP'd to this event");
+        }
         
         // Create notification for organizer
         String message = user.getFirstName() + " " + user.getLastName() + 
@@ -85,17 +82,48 @@ public class RSVPService {
                 .build();
         
         notificationRepository.save(notification);
+        notificationOutbox.send(event.getOrganizer().getEmail(), message);
         
-        // Send WebSocket notification
-        messagingTemplate.convertAndSendToUser(
-                event.getOrganizer().getEmail(),
-                "/queue/notifications",
-                message
-        );
+        attendanceCounters.adjust(eventId,
+                status == RSVP.RSVPStatus.CONFIRMED ? 1 : 0,
+                status == RSVP.RSVPStatus.WAITLIST ? 1 : 0);
+        waitlistIndex.added(eventId, rsvp.getId(), user.getEmail(), rsvp.getCreatedAt(), status);
         
         return mapToResponse(rsvp);
     }
     
+    // A single-column lookup rather than the detail cache: attendance changes evict a hot event's detail
+    // on every RSVP, and reloading it under the cache's per-key lock stalls the writers that evict it
+    public boolean isQueuedAdmission(Long eventId) {
+        return eventRepository.findQueuedAdmissionById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+    }
+    
+    /**
+     * Joins the event's admission queue; the outcome is pushed to the user once their batch is admitted.
+     */
+    @Transactional(readOnly = true)
+    public QueueTicketResponse enqueueRSVP(Long eventId, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        
+        validateNewRSVP(user, event);
+        return mapToTicket(eventId, admissionQueue.enqueue(eventId, user.getId(), user.getEmail()));
+    }
+    
+    @Transactional(readOnly = true)
+    public QueueTicketResponse getQueueTicket(Long eventId, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        return admissionQueue.find(eventId, user.getId())
+                .map(place -> mapToTicket(eventId, place))
+                .orElseThrow(() -> new ResourceNotFoundException("You are not in the queue for this event"));
+    }
+    
     @Transactional
     public void cancelRSVP(Long eventId, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
@@ -106,6 +134,8 @@ public class RSVPService {
         
         Event event = rsvp.getEvent();
         boolean wasConfirmed = rsvp.getStatus() == RSVP.RSVPStatus.CONFIRMED;
+        int confirmedDelta = wasConfirmed ? -1 : 0;
+        int waitlistDelta = rsvp.getStatus() == RSVP.RSVPStatus.WAITLIST ? -1 : 0;
         
         rsvpRepository.delete(rsvp);
         
@@ -120,38 +150,20 @@ public class RSVPService {
                 .build();
         
         notificationRepository.save(organizerNotification);
+        notificationOutbox.send(event.getOrganizer().getEmail(), leaveMessage);
         
-        messagingTemplate.convertAndSendToUser(
-                event.getOrganizer().getEmail(),
-                "/queue/notifications",
-                leaveMessage
-        );
-        
-        // If cancelled RSVP was confirmed and there are waitlisted users, promote one
-        if (wasConfirmed) {
-            List<RSVP> waitlist = rsvpRepository.findByEventIdAndStatus(eventId, RSVP.RSVPStatus.WAITLIST);
-            if (!waitlist.isEmpty()) {
-                RSVP firstInWaitlist = waitlist.get(0);
-                firstInWaitlist.setStatus(RSVP.RSVPStatus.CONFIRMED);
-                rsvpRepository.save(firstInWaitlist);
-                
-                // Notify promoted user
-                Notification notification = Notification.builder()
-                        .user(firstInWaitlist.getUser())
-                        .message("You've been moved from waitlist to confirmed for: " + event.getTitle())
-                        .type(Notification.NotificationType.WAITLIST_PROMOTED)
-                        .relatedEventId(eventId)
-                        .build();
-                
-                notificationRepository.save(notification);
-                
-                messagingTemplate.convertAndSendToUser(
-                        firstInWaitlist.getUser().getEmail(),
-                        "/queue/notifications",
-                        notification.getMessage()
-                );
-            }
-        }
+        // A freed seat is filled by WaitlistRebalancer once this cancellation commits
+        admissionLedger.leave(eventId, rsvp.getStatus());
+        
+        attendanceCounters.adjust(eventId, confirmedDelta, waitlistDelta);
+        eventPublisher.publishEvent(new RSVPCancelledEvent(eventId, userEmail));
+        waitlistIndex.removed(eventId, rsvp.getId());
+    }
+    
+    @Transactional(readOnly = true)
+    public WaitlistPositionResponse getWaitlistPosition(Long eventId, String userEmail) {
+        return waitlistIndex.positionOf(eventId, userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("RSVP not found"));
     }
     
     @Transactional(readOnly = true)
@@ -165,10 +177,67 @@ public class RSVPService {
     }
     
     @Transactional(readOnly = true)
-    public List<RSVPResponse> getEventRSVPs(Long eventId) {
-        return rsvpRepository.findByEventId(eventId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<RSVPResponse> getEventRSVPs(Long eventId, RSVP.RSVPStatus status, String cursor, Integer size) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = EventCursor.pageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<RSVPResponse> rows = status == null
+                ? rsvpRepository.findAttendeePageAfter(eventId, after.eventDate(), after.id(), limit)
+                : rsvpRepository.findAttendeePageByStatusAfter(eventId, status, after.eventDate(), after.id(), limit);
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<RSVPResponse> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            RSVPResponse last = items.get(items.size() - 1);
+            nextCursor = new EventCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        return CursorPage.<RSVPResponse>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+    
+    private void validateNewRSVP(User user, Event event) {
+        Optional<RSVP> existingRSVP = rsvpRepository.findByUserIdAndEventId(user.getId(), event.getId());
+        if (existingRSVP.isPresent()) {
+            throw new BadRequestException("You have already RSVP'd to this event");
+        }
+        
+        String rejection = rejectionReason(user, event);
+        if (rejection != null) {
+            throw new BadRequestException(rejection);
+        }
+    }
+    
+    // Rules shared with BulkRSVPService; null when the user may RSVP
+    static String rejectionReason(User user, Event event) {
+        // Validation: Cannot RSVP to own event
+        if (event.getOrganizer().getId().equals(user.getId())) {
+            return "Organizers cannot RSVP to their own events";
+        }
+        
+        // Validation: Cannot RSVP to past events
+        if (event.getEventDate().isBefore(java.time.LocalDateTime.now())) {
+            return "Cannot RSVP to past events";
+        }
+        
+        // Validation: Cannot RSVP to unpublished events
+        if (!event.getPublished()) {
+            return "Cannot RSVP to unpublished events";
+        }
+        return null;
+    }
+    
+    private QueueTicketResponse mapToTicket(Long eventId, AdmissionQueue.Place place) {
+        return QueueTicketResponse.builder()
+                .eventId(eventId)
+                .position(place.position())
+                .queuedAt(place.ticket().queuedAt())
+                .build();
     }
     
     private RSVPResponse mapToResponse(RSVP rsvp) {
@@ -0,0 +1,40 @@
+package com.eventhub.service;
+
+import com.eventhub.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position inside a relevance-ranked result list. With the in-memory index, resuming at an
+ * offset costs nothing extra however deep the page is; the PostgreSQL backend pages with
+ * {@code LIMIT/OFFSET}, so it still ranks and skips every earlier hit and deeper pages cost more.
+ */
+public record RankedCursor(int offset) {
+    
+    private static final String PREFIX = "rank:";
+    
+    public static RankedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return new RankedCursor(0);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            if (offset < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new RankedCursor(offset);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+    
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,13 @@
+package com.eventhub.service;
+
+/**
+ * Engine answering keyword searches, selected with {@code app.search.backend}.
+ */
+public enum SearchBackend {
+    /** In-process BM25 index ({@link EventSearchIndex}). */
+    MEMORY,
+    /** PostgreSQL tsvector column with a GIN index ({@link PostgresFullTextSearch}). */
+    POSTGRES,
+    /** Plain LIKE query, works on every database. */
+    LIKE
+}
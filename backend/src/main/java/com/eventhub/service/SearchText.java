@@ -0,0 +1,50 @@
+package com.eventhub.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization shared by the in-memory search structures: accents are folded
+ * ("Séminaire" → "seminaire"), case is dropped and text is split on anything that is
+ * not a letter or a digit.
+ */
+public final class SearchText {
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private SearchText() {
+    }
+    
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+    
+    public static List<String> tokenize(String text) {
+        return split(normalize(text));
+    }
+    
+    /**
+     * Splits like {@link #tokenize} but keeps accents (composed, lower-cased), for text folded elsewhere.
+     */
+    public static List<String> words(String text) {
+        return split(text == null ? "" : Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT));
+    }
+    
+    private static List<String> split(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(text)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
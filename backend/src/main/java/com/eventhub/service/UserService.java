@@ -3,12 +3,14 @@ package com.eventhub.service;
 import com.eventhub.dto.DashboardStatsResponse;
 import com.eventhub.dto.UserResponse;
 import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.model.RSVP;
 import com.eventhub.model.User;
 import com.eventhub.repository.EventRepository;
 import com.eventhub.repository.NotificationRepository;
 import com.eventhub.repository.RSVPRepository;
 import com.eventhub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,10 @@ public class UserService {
     private final EventRepository eventRepository;
     private final RSVPRepository rsvpRepository;
     private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AdmissionLedger admissionLedger;
+    private final AttendanceCounters attendanceCounters;
+    private final WaitlistIndex waitlistIndex;
     
     @Transactional(readOnly = true)
     public UserResponse getCurrentUser(String email) {
@@ -80,11 +86,21 @@ public class UserService {
             rsvpRepository.deleteByEventId(eventId);
         }
         
-        // 4. Delete user's own RSVPs to other events
+        // 4. Delete user's own RSVPs to other events and take them off those events' attendance counters
+        List<RSVPRepository.UserEntry> attended = rsvpRepository.findUserEntriesByUserId(userId);
         rsvpRepository.deleteByUserId(userId);
+        attended.forEach(rsvp -> {
+            admissionLedger.leave(rsvp.getEventId(), rsvp.getStatus());
+            attendanceCounters.adjust(rsvp.getEventId(),
+                    rsvp.getStatus() == RSVP.RSVPStatus.CONFIRMED ? -1 : 0,
+                    rsvp.getStatus() == RSVP.RSVPStatus.WAITLIST ? -1 : 0);
+            waitlistIndex.invalidate(rsvp.getEventId());
+        });
         
         // 5. Delete user's organized events
         eventRepository.deleteByOrganizerId(userId);
+        eventIds.forEach(eventId -> eventPublisher.publishEvent(
+                new CatalogChangedEvent(eventId, CatalogChangedEvent.Type.DELETED)));
         
         // 6. Finally delete the user
         userRepository.deleteById(userId);
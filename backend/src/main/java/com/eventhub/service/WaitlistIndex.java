@@ -0,0 +1,352 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.WaitlistPositionResponse;
+import com.eventhub.model.RSVP;
+import com.eventhub.repository.RSVPRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Per-event waitlist order, answering "what is my position" in O(log n).
+ * <p>
+ * Every RSVP of an event gets a slot in {@code (createdAt, id)} order, the order {@link WaitlistRebalancer}
+ * promotes in, and a Fenwick tree over the slots counts the waitlisted ones, so a position is a prefix sum and
+ * a promotion, demotion or cancellation is a point update. A demoted attendee keeps their slot and so returns
+ * near the front. Lines are loaded from {@code rsvps} on first use; changes are applied once their transaction
+ * commits and pushed to the line's members subscribed to {@code /user/queue/waitlist-position} whose position
+ * moved.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistIndex {
+
+    public static final String POSITION_DESTINATION = "/queue/waitlist-position";
+
+    private static final int INITIAL_SLOTS = 64;
+
+    private static final class Member {
+        private final long rsvpId;
+        private final String email;
+        private final LocalDateTime createdAt;
+        private int slot;
+        private boolean waiting;
+        // Position last pushed to the member, tracked while they are subscribed
+        private long reported;
+
+        private Member(long rsvpId, String email, LocalDateTime createdAt) {
+            this.rsvpId = rsvpId;
+            this.email = email;
+            this.createdAt = createdAt;
+        }
+
+        private boolean joinedAfter(Member other) {
+            int order = createdAt.compareTo(other.createdAt);
+            return order > 0 || (order == 0 && rsvpId > other.rsvpId);
+        }
+    }
+
+    private static final class Line {
+        private final Map<Long, Member> byRsvp = new HashMap<>();
+        private final Map<String, Member> byEmail = new HashMap<>();
+        // Members whose user is subscribed to position updates
+        private final Set<Member> watched = new HashSet<>();
+        private Member[] slots = new Member[INITIAL_SLOTS + 1];
+        private int[] tree = new int[INITIAL_SLOTS + 1];
+        private int used;
+        private int waiting;
+
+        private Member add(long rsvpId, String email, LocalDateTime createdAt, boolean isWaiting) {
+            Member member = byRsvp.get(rsvpId);
+            if (member == null) {
+                member = new Member(rsvpId, email, createdAt);
+                insert(member);
+                byRsvp.put(rsvpId, member);
+                byEmail.put(email, member);
+            }
+            mark(member, isWaiting);
+            return member;
+        }
+
+        // Transactions commit roughly in join order, so a new member lands at or near the end: it takes the
+        // free slot behind the last earlier joiner, or the later joiners after it move up one slot each
+        private void insert(Member member) {
+            if (used + 1 == slots.length) {
+                rebuild(slots.length * 2);
+            }
+            int slot = used;
+            while (slot > 0 && (slots[slot] == null || slots[slot].joinedAfter(member))) {
+                slot--;
+            }
+            slot++;
+            if (slot <= used && slots[slot] != null) {
+                for (int from = used; from >= slot; from--) {
+                    Member later = slots[from];
+                    if (later != null) {
+                        if (later.waiting) {
+                            count(from, -1);
+                            count(from + 1, 1);
+                        }
+                        later.slot = from + 1;
+                    }
+                    slots[from + 1] = later;
+                }
+                used++;
+            } else if (slot > used) {
+                used = slot;
+            }
+            member.slot = slot;
+            slots[slot] = member;
+        }
+
+        private void mark(Member member, boolean isWaiting) {
+            if (member.waiting != isWaiting) {
+                member.waiting = isWaiting;
+                waiting += isWaiting ? 1 : -1;
+                count(member.slot, isWaiting ? 1 : -1);
+            }
+        }
+
+        private void count(int slot, int delta) {
+            for (int i = slot; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private void remove(Member member) {
+            mark(member, false);
+            byRsvp.remove(member.rsvpId);
+            byEmail.remove(member.email, member);
+            watched.remove(member);
+            slots[member.slot] = null;
+            // Reclaim the slots of cancelled RSVPs once they make up half the line
+            if (used > INITIAL_SLOTS && byRsvp.size() < used / 2) {
+                rebuild(slots.length);
+            }
+        }
+
+        // Place in line while waitlisted, 0 once confirmed
+        private long position(Member member) {
+            return member.waiting ? rank(member.slot) : 0L;
+        }
+
+        // Waitlisted members up to and including the slot
+        private long rank(int slot) {
+            long count = 0;
+            for (int i = slot; i > 0; i -= i & -i) {
+                count += tree[i];
+            }
+            return count;
+        }
+
+        // Compacts the live members into the first slots and rebuilds the tree in linear time
+        private void rebuild(int capacity) {
+            Member[] compacted = new Member[capacity];
+            int[] counts = new int[capacity];
+            int next = 0;
+            for (int slot = 1; slot <= used; slot++) {
+                Member member = slots[slot];
+                if (member != null) {
+                    member.slot = ++next;
+                    compacted[next] = member;
+                    counts[next] = member.waiting ? 1 : 0;
+                }
+            }
+            for (int i = 1; i < capacity; i++) {
+                int parent = i + (i & -i);
+                if (parent < capacity) {
+                    counts[parent] += counts[i];
+                }
+            }
+            slots = compacted;
+            tree = counts;
+            used = next;
+        }
+    }
+
+    private final RSVPRepository rsvpRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final ConcurrentMap<Long, Line> lines = new ConcurrentHashMap<>();
+
+    // "sessionId/subscriptionId" -> user, and how many subscriptions each user holds
+    private final ConcurrentMap<String, String> subscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the user's status and, while waitlisted, their 1-based place in line.
+     */
+    public Optional<WaitlistPositionResponse> positionOf(Long eventId, String email) {
+        Line line = lines.computeIfAbsent(eventId, this::load);
+        synchronized (line) {
+            return Optional.ofNullable(line.byEmail.get(email)).map(member -> toResponse(eventId, line, member));
+        }
+    }
+
+    public void added(Long eventId, Long rsvpId, String email, LocalDateTime createdAt, RSVP.RSVPStatus status) {
+        afterCommit(() -> update(eventId, line -> add(line, rsvpId, email, createdAt, status)));
+    }
+
+    public void added(Long eventId, Collection<RSVPRepository.LineEntry> entries) {
+        afterCommit(() -> update(eventId, line -> entries.forEach(entry ->
+                add(line, entry.getId(), entry.getUserEmail(), entry.getCreatedAt(), entry.getStatus()))));
+    }
+
+    public void moved(Long eventId, Collection<Long> rsvpIds, RSVP.RSVPStatus status) {
+        afterCommit(() -> update(eventId, line -> rsvpIds.forEach(rsvpId -> {
+            Member member = line.byRsvp.get(rsvpId);
+            if (member != null) {
+                line.mark(member, status == RSVP.RSVPStatus.WAITLIST);
+            }
+        })));
+    }
+
+    public void removed(Long eventId, Long rsvpId) {
+        afterCommit(() -> update(eventId, line -> {
+            Member member = line.byRsvp.get(rsvpId);
+            if (member != null) {
+                line.remove(member);
+            }
+        }));
+    }
+
+    /**
+     * Drops the event's line after bulk changes; it is reloaded on the next lookup.
+     */
+    public void invalidate(Long eventId) {
+        afterCommit(() -> lines.remove(eventId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.DELETED) {
+            lines.remove(event.eventId());
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (event.getUser() != null && ("/user" + POSITION_DESTINATION).equals(accessor.getDestination())) {
+            String user = event.getUser().getName();
+            if (subscriptions.putIfAbsent(accessor.getSessionId() + "/" + accessor.getSubscriptionId(), user) == null
+                    && subscribers.merge(user, 1, Integer::sum) == 1) {
+                watch(user);
+            }
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId() + "/" + accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + "/";
+        subscriptions.keySet().stream().filter(key -> key.startsWith(prefix)).toList().forEach(this::unsubscribe);
+    }
+
+    private void unsubscribe(String key) {
+        String user = subscriptions.remove(key);
+        if (user != null && subscribers.computeIfPresent(user, (name, count) -> count > 1 ? count - 1 : null) == null) {
+            watch(user);
+        }
+    }
+
+    // Brings the user's membership of each loaded line's watched set in line with their subscriptions
+    private void watch(String user) {
+        lines.values().forEach(line -> {
+            synchronized (line) {
+                Member member = line.byEmail.get(user);
+                if (member != null) {
+                    track(line, member);
+                }
+            }
+        });
+    }
+
+    // Called with the line locked; checks the subscription there, so a racing subscribe or unsubscribe is
+    // settled by whichever of them locks the line last
+    private void track(Line line, Member member) {
+        if (!subscribers.containsKey(member.email)) {
+            line.watched.remove(member);
+        } else if (line.watched.add(member)) {
+            member.reported = line.position(member);
+        }
+    }
+
+    private void add(Line line, long rsvpId, String email, LocalDateTime createdAt, RSVP.RSVPStatus status) {
+        track(line, line.add(rsvpId, email, createdAt, status == RSVP.RSVPStatus.WAITLIST));
+    }
+
+    // Applies the change only to a loaded line; computeIfPresent waits for a load in progress, so a change
+    // committed while the line was being read from the database is not lost
+    private void update(Long eventId, Consumer<Line> change) {
+        Map<String, WaitlistPositionResponse> pushes = new LinkedHashMap<>();
+        lines.computeIfPresent(eventId, (id, line) -> {
+            synchronized (line) {
+                change.accept(line);
+                for (Member member : line.watched) {
+                    long position = line.position(member);
+                    if (position != member.reported) {
+                        member.reported = position;
+                        pushes.put(member.email, toResponse(eventId, line, member));
+                    }
+                }
+            }
+            return line;
+        });
+        pushes.forEach((user, position) -> messagingTemplate.convertAndSendToUser(user, POSITION_DESTINATION, position));
+    }
+
+    private Line load(Long eventId) {
+        Line line = new Line();
+        rsvpRepository.findLineEntriesByEventId(eventId).forEach(entry ->
+                add(line, entry.getId(), entry.getUserEmail(), entry.getCreatedAt(), entry.getStatus()));
+        return line;
+    }
+
+    private static WaitlistPositionResponse toResponse(Long eventId, Line line, Member member) {
+        return WaitlistPositionResponse.builder()
+                .eventId(eventId)
+                .status(member.waiting ? RSVP.RSVPStatus.WAITLIST : RSVP.RSVPStatus.CONFIRMED)
+                .position(member.waiting ? line.position(member) : null)
+                .waitlistSize((long) line.waiting)
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
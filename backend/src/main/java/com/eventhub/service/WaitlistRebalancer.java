@@ -0,0 +1,221 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Event;
+import com.eventhub.model.Notification;
+import com.eventhub.model.RSVP;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.NotificationRepository;
+import com.eventhub.repository.RSVPRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps each event's confirmed list matched to its capacity once capacity or attendance changes commit.
+ * <p>
+ * Free seats are claimed from {@link AdmissionLedger}, which holds them back from new RSVPs while anyone is
+ * waitlisted, and filled from the head of the waitlist with a single UPDATE; when capacity shrinks below the
+ * confirmed count, the most recent confirmations go back to the waitlist the same way. They keep their
+ * original join time, so they are first to be promoted again. Notifications for everyone moved are written
+ * with one INSERT ... SELECT.
+ * <p>
+ * Passes run on {@code app.waitlist.rebalance.workers} private threads, never two at once for the same event:
+ * changes arriving while an event is being rebalanced are coalesced into one more pass, so a burst of RSVPs
+ * costs a few passes rather than one transaction each, and two passes can never compete for the same head
+ * of the waitlist. A pass that could not fill every seat it claimed asks for another.
+ */
+@Service
+@Slf4j
+public class WaitlistRebalancer {
+
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final NotificationRepository notificationRepository;
+    private final AdmissionLedger admissionLedger;
+    private final AttendanceCounters attendanceCounters;
+    private final WaitlistIndex waitlistIndex;
+    private final NotificationOutbox notificationOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+
+    // Events waiting for a pass, and events a worker is currently draining
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public WaitlistRebalancer(
+            EventRepository eventRepository,
+            RSVPRepository rsvpRepository,
+            NotificationRepository notificationRepository,
+            AdmissionLedger admissionLedger,
+            AttendanceCounters attendanceCounters,
+            WaitlistIndex waitlistIndex,
+            NotificationOutbox notificationOutbox,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.waitlist.rebalance.workers:2}") int workerCount) {
+        this.eventRepository = eventRepository;
+        this.rsvpRepository = rsvpRepository;
+        this.notificationRepository = notificationRepository;
+        this.admissionLedger = admissionLedger;
+        this.attendanceCounters = attendanceCounters;
+        this.waitlistIndex = waitlistIndex;
+        this.notificationOutbox = notificationOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "waitlist-rebalancer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, workers, "waitlistRebalancer");
+    }
+
+    // Only queues a pass: running it on the committing thread would need a second pooled connection
+    // while the committed one is still held, which starves the pool under load
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.UPDATED || event.type() == CatalogChangedEvent.Type.ATTENDANCE_CHANGED) {
+            request(event.eventId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void request(Long eventId) {
+        pending.add(eventId);
+        if (!running.add(eventId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> drain(eventId));
+        } catch (RejectedExecutionException ex) {
+            // Shutting down; the next change after a restart rebalances the event
+            running.remove(eventId);
+        }
+    }
+
+    private void drain(Long eventId) {
+        try {
+            // Each pass commits before the next starts, so it sees the seats the previous one freed or took
+            while (pending.remove(eventId)) {
+                transactionTemplate.executeWithoutResult(status -> eventRepository.findById(eventId).ifPresent(this::rebalance));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Rebalancing the waitlist of event {} failed, retrying on its next change", eventId, ex);
+            return;
+        } finally {
+            running.remove(eventId);
+        }
+        // A request that arrived after the last check found the event still running
+        if (pending.contains(eventId)) {
+            request(eventId);
+        }
+    }
+
+    // Counts come from the ledger: the event's counters trail committed changes by up to a flush interval
+    private void rebalance(Event event) {
+        int excess = admissionLedger.taken(event.getId()) - event.getCapacity();
+        int waiting = admissionLedger.waiting(event.getId());
+        if (excess > 0) {
+            demote(event, excess);
+        } else if (waiting > 0) {
+            promote(event, waiting);
+        }
+    }
+
+    private void promote(Event event, int waiting) {
+        Long eventId = event.getId();
+        int seats = admissionLedger.tryAdmit(eventId, event.getCapacity(), waiting);
+        if (seats == 0) {
+            return;
+        }
+
+        List<RSVPRepository.StatusEntry> head = rsvpRepository.findOldestByEventIdAndStatus(
+                eventId, RSVP.RSVPStatus.WAITLIST, PageRequest.of(0, seats));
+        List<RSVPRepository.StatusEntry> promoted = transition(head, RSVP.RSVPStatus.WAITLIST, RSVP.RSVPStatus.CONFIRMED);
+        if (promoted.size() < seats) {
+            admissionLedger.release(eventId, seats - promoted.size());
+        }
+        if (promoted.size() < head.size()) {
+            // Some of the head cancelled meanwhile; the next in line get their seats on another pass
+            pending.add(eventId);
+        }
+        if (promoted.isEmpty()) {
+            return;
+        }
+
+        admissionLedger.waitlisted(eventId, -promoted.size());
+        notify(promoted, "You've been moved from waitlist to confirmed for: " + event.getTitle(),
+                Notification.NotificationType.WAITLIST_PROMOTED);
+        waitlistIndex.moved(eventId, ids(promoted), RSVP.RSVPStatus.CONFIRMED);
+        attendanceCounters.adjust(eventId, promoted.size(), -promoted.size());
+        log.info("Promoted {} waitlisted attendees for event {}", promoted.size(), eventId);
+    }
+
+    private void demote(Event event, int excess) {
+        Long eventId = event.getId();
+        List<RSVPRepository.StatusEntry> latest = rsvpRepository.findNewestByEventIdAndStatus(
+                eventId, RSVP.RSVPStatus.CONFIRMED, PageRequest.of(0, excess));
+        List<RSVPRepository.StatusEntry> demoted = transition(latest, RSVP.RSVPStatus.CONFIRMED, RSVP.RSVPStatus.WAITLIST);
+        if (demoted.isEmpty()) {
+            return;
+        }
+
+        admissionLedger.release(eventId, demoted.size());
+        admissionLedger.waitlisted(eventId, demoted.size());
+        notify(demoted, "The capacity of " + event.getTitle() + " was reduced and you've been moved to the front of its waitlist",
+                Notification.NotificationType.EVENT_UPDATE);
+        waitlistIndex.moved(eventId, ids(demoted), RSVP.RSVPStatus.WAITLIST);
+        attendanceCounters.adjust(eventId, -demoted.size(), demoted.size());
+        log.info("Moved {} confirmed attendees back to the waitlist for event {}", demoted.size(), eventId);
+    }
+
+    // Returns the entries actually moved; a concurrent cancellation can make the UPDATE skip a row
+    private List<RSVPRepository.StatusEntry> transition(List<RSVPRepository.StatusEntry> entries,
+                                                         RSVP.RSVPStatus from, RSVP.RSVPStatus to) {
+        if (entries.isEmpty()) {
+            return entries;
+        }
+        List<Long> ids = ids(entries);
+        int moved = rsvpRepository.transitionStatus(ids, from, to, LocalDateTime.now());
+        if (moved == entries.size()) {
+            return entries;
+        }
+        Set<Long> movedIds = new HashSet<>(rsvpRepository.findIdsByIdInAndStatus(ids, to));
+        return entries.stream().filter(entry -> movedIds.contains(entry.getId())).toList();
+    }
+
+    private void notify(List<RSVPRepository.StatusEntry> entries, String message, Notification.NotificationType type) {
+        notificationRepository.insertForRsvps(ids(entries), message, type.name(), LocalDateTime.now());
+        notificationOutbox.send(entries.stream().map(RSVPRepository.StatusEntry::getUserEmail).toList(), message);
+    }
+
+    private static List<Long> ids(List<RSVPRepository.StatusEntry> entries) {
+        return entries.stream().map(RSVPRepository.StatusEntry::getId).toList();
+    }
+}
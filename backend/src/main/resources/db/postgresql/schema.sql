@@ -0,0 +1,32 @@
+-- PostgreSQL-only schema additions applied after Hibernate has updated the mapped tables.
+-- Every statement is idempotent: this script runs on each startup of the local/prod profiles.
+
+-- Full-text search folds text with eventhub_fold(), on the stored document and on the query alike, so both
+-- sides agree on every character unaccent knows. unaccent() alone is only STABLE (it looks its dictionary up
+-- through search_path); naming the dictionary lets the wrapper be IMMUTABLE, as generated columns require.
+CREATE EXTENSION IF NOT EXISTS unaccent SCHEMA public;
+
+CREATE OR REPLACE FUNCTION eventhub_fold(text) RETURNS text
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+    AS 'SELECT public.unaccent(''public.unaccent''::regdictionary, lower($1))';
+
+-- search_vector folded with a fixed translate() list; search_document replaces it
+ALTER TABLE events DROP COLUMN IF EXISTS search_vector;
+
+-- Title (A), location (B) and description (C)
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_document tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', eventhub_fold(coalesce(title, ''))), 'A') ||
+    setweight(to_tsvector('simple', eventhub_fold(coalesce(location, ''))), 'B') ||
+    setweight(to_tsvector('simple', eventhub_fold(coalesce(description, ''))), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_events_search_document ON events USING GIN (search_document);
+
+-- notifications.id moved from an identity column to notifications_seq (allocation 50, pooled-lo).
+-- On databases that already hold identity-generated rows, start the sequence past the highest id;
+-- once it is ahead it is left alone, so blocks handed out to running instances stay valid.
+SELECT setval('notifications_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM notifications), false)
+WHERE (SELECT last_value FROM notifications_seq) + 50 <= (SELECT COALESCE(MAX(id), 0) FROM notifications);
+
+-- Broadcast outbox rows have no recipient; ddl-auto=update never relaxes an existing NOT NULL
+ALTER TABLE notification_outbox ALTER COLUMN recipient DROP NOT NULL;
@@ -0,0 +1,188 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.RSVPResponse;
+import com.eventhub.model.Event;
+import com.eventhub.model.RSVP;
+import com.eventhub.model.User;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.RSVPRepository;
+import com.eventhub.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:admission-ledger"
+})
+@ActiveProfiles("dev")
+class AdmissionLedgerConcurrencyTest {
+
+    private static final int ATTENDEES = 2000;
+    private static final int CAPACITY = 50;
+    private static final int THREADS = 32;
+    private static final int WARMUP = 500;
+    // A single-core runner manages about 100 a second; updating the event row on every RSVP held it to about 35
+    private static final double MIN_RSVPS_PER_SECOND = 60;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private AttendanceCounters attendanceCounters;
+
+    @Autowired
+    private AttendanceReconciliationService attendanceReconciliationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService pool;
+    private String run;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(THREADS);
+        run = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void parallelRsvpsNeverOverbook() throws Exception {
+        Event event = createEvent(CAPACITY);
+        List<User> attendees = createUsers(ATTENDEES);
+
+        List<RSVPResponse> responses = rsvpAll(event, attendees);
+
+        long confirmedResponses = responses.stream().filter(r -> r.getStatus() == RSVP.RSVPStatus.CONFIRMED).count();
+        assertEquals(CAPACITY, confirmedResponses);
+        assertEquals(CAPACITY, rsvpRepository.countConfirmedByEventId(event.getId()));
+        attendanceCounters.flush();
+        Event stored = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(CAPACITY, stored.getConfirmedCount());
+        assertEquals(ATTENDEES - CAPACITY, stored.getWaitlistCount());
+    }
+
+    @Test
+    void parallelRsvpsToOneEventKeepUpTheirRate() throws Exception {
+        Event event = createEvent(CAPACITY);
+        List<User> attendees = createUsers(WARMUP + ATTENDEES);
+        // The first round warms up the RSVP path, so the measurement is not dominated by class loading and JIT
+        rsvpAll(event, attendees.subList(0, WARMUP));
+
+        long started = System.nanoTime();
+        rsvpAll(event, attendees.subList(WARMUP, attendees.size()));
+        double perSecond = ATTENDEES / ((System.nanoTime() - started) / 1e9);
+
+        assertTrue(perSecond >= MIN_RSVPS_PER_SECOND,
+                String.format("%.0f RSVPs per second, expected at least %.0f", perSecond, MIN_RSVPS_PER_SECOND));
+    }
+
+    @Test
+    void reconciliationReloadsDriftedLedger() throws Exception {
+        Event event = createEvent(CAPACITY);
+        rsvpAll(event, createUsers(CAPACITY));
+
+        // Freed behind the application's back, as a manual database fix would; the ledger still counts them
+        int freed = 5;
+        jdbcTemplate.update("DELETE FROM rsvps WHERE id IN (SELECT id FROM rsvps WHERE event_id = ? ORDER BY id LIMIT ?)",
+                event.getId(), freed);
+
+        assertEquals(1, attendanceReconciliationService.reconcile().getLedgerReloads());
+
+        List<RSVPResponse> responses = rsvpAll(event, createUsers(2 * freed));
+        assertEquals(freed, responses.stream().filter(r -> r.getStatus() == RSVP.RSVPStatus.CONFIRMED).count());
+        assertEquals(CAPACITY, rsvpRepository.countConfirmedByEventId(event.getId()));
+    }
+
+    @Test
+    void freedSeatsGoToTheWaitlistFirst() throws Exception {
+        Event event = createEvent(CAPACITY);
+        List<RSVPResponse> responses = rsvpAll(event, createUsers(CAPACITY + 1));
+        assertEquals(1, responses.stream().filter(r -> r.getStatus() == RSVP.RSVPStatus.WAITLIST).count());
+
+        // Raised behind the application's back, so no rebalance runs: the new seat stays held for the waitlist
+        jdbcTemplate.update("UPDATE events SET capacity = ? WHERE id = ?", CAPACITY + 1, event.getId());
+
+        User latecomer = createUsers(1).get(0);
+        assertEquals(RSVP.RSVPStatus.WAITLIST, rsvpService.createRSVP(event.getId(), latecomer.getEmail()).getStatus());
+        assertEquals(CAPACITY, rsvpRepository.countConfirmedByEventId(event.getId()));
+    }
+
+    private List<RSVPResponse> rsvpAll(Event event, List<User> attendees) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RSVPResponse>> futures = new ArrayList<>(attendees.size());
+        for (User attendee : attendees) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return rsvpService.createRSVP(event.getId(), attendee.getEmail());
+            }));
+        }
+        start.countDown();
+        List<RSVPResponse> responses = new ArrayList<>(futures.size());
+        for (Future<RSVPResponse> future : futures) {
+            responses.add(future.get(60, TimeUnit.SECONDS));
+        }
+        return responses;
+    }
+
+    private Event createEvent(int capacity) {
+        User organizer = userRepository.save(user("organizer"));
+        return eventRepository.save(Event.builder()
+                .title("Flash sale " + run)
+                .description("Concurrency test")
+                .eventDate(LocalDateTime.now().plusDays(30))
+                .location("Tunis")
+                .capacity(capacity)
+                .category(Event.Category.CONFERENCE)
+                .organizer(organizer)
+                .build());
+    }
+
+    private List<User> createUsers(int count) {
+        String batch = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> user(batch + "-" + i))
+                .toList());
+    }
+
+    private User user(String name) {
+        return User.builder()
+                .email(name + "-" + run + "@test.eventhub.tn")
+                .password("not-used")
+                .firstName("Test")
+                .lastName(name)
+                .build();
+    }
+}
@@ -11,6 +11,7 @@ import { AuthService } from './services/auth.service';
 import { ThemeService } from './services/theme.service';
 import { WebsocketService } from './services/websocket.service';
 import { NotificationService } from './services/notification.service';
+import { RsvpService } from './services/rsvp.service';
 import { Notification, NotificationType } from './models/models';
 import { BackendStatusService, BackendStatus } from './services/backend-status.service';
 import { BackendWakeupMessageComponent } from './components/backend-wakeup-message/backend-wakeup-message.component';
@@ -45,6 +46,7 @@ export class AppComponent implements OnInit {
     public themeService: ThemeService,
     private websocketService: WebsocketService,
     private notificationService: NotificationService,
+    private rsvpService: RsvpService,
     private router: Router,
     private backendStatusService: BackendStatusService
   ) {}
@@ -53,6 +55,9 @@ export class AppComponent implements OnInit {
     this.authService.currentUser$.subscribe(user => {
       if (user) {
         this.websocketService.connect(user.email);
+        this.rsvpService.getMyRSVPs().subscribe({
+          next: (rsvps) => rsvps.forEach(rsvp => this.websocketService.watchEvent(rsvp.eventId))
+        });
         this.loadNotifications();
       } else {
         this.websocketService.disconnect();
@@ -59,9 +59,9 @@ export class AdminDashboardComponent implements OnInit, AfterViewInit, OnDestroy
   }
 
   loadEvents(): void {
-    this.eventService.getAllEvents().subscribe({
-      next: (events) => {
-        this.events = events;
+    this.eventService.getAllEvents(undefined, 100, 'summary').subscribe({
+      next: (page) => {
+        this.events = page.items;
         setTimeout(() => this.createCharts(), 0);
       }
     });
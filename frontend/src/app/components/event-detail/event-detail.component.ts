@@ -1,4 +1,4 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { ActivatedRoute, Router, RouterLink } from '@angular/router';
 import { MatCardModule } from '@angular/material/card';
@@ -10,7 +10,9 @@ import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { EventService } from '../../services/event.service';
 import { RsvpService } from '../../services/rsvp.service';
 import { AuthService } from '../../services/auth.service';
-import { Event, RSVP } from '../../models/models';
+import { WebsocketService } from '../../services/websocket.service';
+import { Attendance, Event, RSVP, WaitlistPosition } from '../../models/models';
+import { Subscription } from 'rxjs';
 import { environment } from '../../../environments/environment';
 
 @Component({
@@ -29,10 +31,14 @@ import { environment } from '../../../environments/environment';
   templateUrl: './event-detail.component.html',
   styleUrls: ['./event-detail.component.scss']
 })
-export class EventDetailComponent implements OnInit {
+export class EventDetailComponent implements OnInit, OnDestroy {
   event?: Event;
   rsvps: RSVP[] = [];
+  rsvpCursor?: string;
   userRsvp?: RSVP;
+  waitlistPosition?: WaitlistPosition;
+  private positionSubscription?: Subscription;
+  private attendanceSubscription?: Subscription;
   loading = true;
   isOrganizer = false;
 
@@ -42,6 +48,7 @@ export class EventDetailComponent implements OnInit {
     private eventService: EventService,
     private rsvpService: RsvpService,
     public authService: AuthService,
+    private websocketService: WebsocketService,
     private snackBar: MatSnackBar
   ) {}
 
@@ -49,6 +56,31 @@ export class EventDetailComponent implements OnInit {
     const id = Number(this.route.snapshot.paramMap.get('id'));
     this.loadEvent(id);
     this.loadRSVPs(id);
+    this.positionSubscription = this.websocketService.waitlistPosition$.subscribe(position => {
+      if (position.eventId === id) {
+        this.waitlistPosition = position;
+      }
+    });
+    // Counts stay live from the attendance topic instead of re-fetching the event
+    this.websocketService.followAttendance(id);
+    this.attendanceSubscription = this.websocketService.attendance$.subscribe(attendance => {
+      if (attendance.eventId === id) {
+        this.applyAttendance(attendance);
+      }
+    });
+  }
+
+  ngOnDestroy(): void {
+    this.positionSubscription?.unsubscribe();
+    this.attendanceSubscription?.unsubscribe();
+    this.websocketService.unfollowAttendance();
+  }
+
+  applyAttendance(attendance: Attendance): void {
+    if (!this.event) return;
+    this.event.attendeeCount = attendance.attendeeCount;
+    this.event.capacity = attendance.capacity;
+    this.event.isFull = attendance.isFull;
   }
 
   loadEvent(id: number): void {
@@ -68,22 +100,76 @@ export class EventDetailComponent implements OnInit {
   }
 
   loadRSVPs(id: number): void {
-    this.rsvpService.getEventRSVPs(id).subscribe({
+    this.rsvpService.getEventRSVPs(id, undefined, undefined, 100).subscribe({
+      next: (page) => {
+        this.rsvps = page.items;
+        this.rsvpCursor = page.nextCursor;
+      }
+    });
+
+    // The attendee list is paged, so the user's own RSVP is looked up directly
+    const currentUser = this.authService.getCurrentUser();
+    if (!currentUser) return;
+    this.rsvpService.getMyRSVPs().subscribe({
       next: (rsvps) => {
-        this.rsvps = rsvps;
-        const currentUser = this.authService.getCurrentUser();
-        this.userRsvp = rsvps.find(r => r.userId === currentUser?.id);
+        this.userRsvp = rsvps.find(r => r.eventId === id);
+        if (this.userRsvp) {
+          this.websocketService.watchEvent(id);
+        }
+        this.loadWaitlistPosition(id);
+      }
+    });
+  }
+
+  loadMoreRSVPs(): void {
+    if (!this.event || !this.rsvpCursor) return;
+
+    this.rsvpService.getEventRSVPs(this.event.id, undefined, this.rsvpCursor, 100).subscribe({
+      next: (page) => {
+        this.rsvps = [...this.rsvps, ...page.items];
+        this.rsvpCursor = page.nextCursor;
+      }
+    });
+  }
+
+  exportAttendees(): void {
+    if (!this.event) return;
+
+    this.rsvpService.exportAttendees(this.event.id).subscribe({
+      next: (csv) => {
+        const url = URL.createObjectURL(csv);
+        const link = document.createElement('a');
+        link.href = url;
+        link.download = `event-${this.event!.id}-attendees.csv`;
+        link.click();
+        URL.revokeObjectURL(url);
+      },
+      error: () => {
+        this.snackBar.open('Failed to export attendees', 'Close', { duration: 3000 });
       }
     });
   }
 
+  loadWaitlistPosition(id: number): void {
+    this.waitlistPosition = undefined;
+    if (this.userRsvp?.status !== 'WAITLIST') return;
+
+    this.rsvpService.getWaitlistPosition(id).subscribe({
+      next: (position) => this.waitlistPosition = position
+    });
+  }
+
   joinEvent(): void {
     if (!this.event) return;
     
     this.rsvpService.createRSVP(this.event.id).subscribe({
       next: (rsvp) => {
+        if ('position' in rsvp) {
+          this.snackBar.open(`You're in line at position ${rsvp.position}. We'll notify you once your spot is processed.`, 'Close', { duration: 5000 });
+          return;
+        }
         this.snackBar.open(`Successfully ${rsvp.status === 'CONFIRMED' ? 'joined' : 'added to waitlist for'} event!`, 'Close', { duration: 3000 });
-        this.loadEvent(this.event!.id);
+        // Counts follow on the attendance topic
         this.loadRSVPs(this.event!.id);
       },
       error: (error) => {
@@ -98,7 +184,7 @@ export class EventDetailComponent implements OnInit {
     this.rsvpService.cancelRSVP(this.event.id).subscribe({
       next: () => {
         this.snackBar.open('Successfully left event', 'Close', { duration: 3000 });
-        this.loadEvent(this.event!.id);
+        this.websocketService.unwatchEvent(this.event!.id);
         this.loadRSVPs(this.event!.id);
       },
       error: (error) => {
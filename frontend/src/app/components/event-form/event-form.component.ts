@@ -12,6 +12,7 @@ import { MatNativeDateModule } from '@angular/material/core';
 import { MatSnackBar, MatSnackBarModule } from '@angular/material/snack-bar';
 import { MatProgressBarModule } from '@angular/material/progress-bar';
 import { MatIconModule } from '@angular/material/icon';
+import { MatCheckboxModule } from '@angular/material/checkbox';
 import { EventService } from '../../services/event.service';
 import { FileUploadService } from '../../services/file-upload.service';
 import { EventCategory } from '../../models/models';
@@ -32,7 +33,8 @@ import { environment } from '../../../environments/environment';
     MatNativeDateModule,
     MatSnackBarModule,
     MatProgressBarModule,
-    MatIconModule
+    MatIconModule,
+    MatCheckboxModule
   ],
   templateUrl: './event-form.component.html',
   styleUrls: ['./event-form.component.scss']
@@ -67,7 +69,8 @@ export class EventFormComponent implements OnInit {
       capacity: ['', [Validators.required, Validators.min(1)]],
       category: ['', [Validators.required]],
       posterUrl: [''],
-      published: [true]
+      published: [true],
+      queuedAdmission: [false]
     });
   }
 
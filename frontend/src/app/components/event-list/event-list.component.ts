@@ -1,6 +1,6 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
-import { RouterLink } from '@angular/router';
+import { Router, RouterLink } from '@angular/router';
 import { MatCardModule } from '@angular/material/card';
 import { MatButtonModule } from '@angular/material/button';
 import { MatIconModule } from '@angular/material/icon';
@@ -8,10 +8,15 @@ import { MatChipsModule } from '@angular/material/chips';
 import { MatFormFieldModule } from '@angular/material/form-field';
 import { MatInputModule } from '@angular/material/input';
 import { MatSelectModule } from '@angular/material/select';
+import { MatAutocompleteModule } from '@angular/material/autocomplete';
+import { MatOptionSelectionChange } from '@angular/material/core';
 import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { FormsModule } from '@angular/forms';
+import { Subject, of } from 'rxjs';
+import { debounceTime, distinctUntilChanged, switchMap, takeUntil } from 'rxjs/operators';
 import { EventService } from '../../services/event.service';
-import { Event, EventCategory } from '../../models/models';
+import { WebsocketService } from '../../services/websocket.service';
+import { CatalogChanges, Event, EventCategory, Suggestion } from '../../models/models';
 import { environment } from '../../../environments/environment';
 
 @Component({
@@ -28,31 +33,87 @@ import { environment } from '../../../environments/environment';
     MatFormFieldModule,
     MatInputModule,
     MatSelectModule,
+    MatAutocompleteModule,
     MatProgressSpinnerModule
   ],
   templateUrl: './event-list.component.html',
   styleUrls: ['./event-list.component.scss']
 })
-export class EventListComponent implements OnInit {
+export class EventListComponent implements OnInit, OnDestroy {
   events: Event[] = [];
   filteredEvents: Event[] = [];
   loading = true;
+  loadingMore = false;
+  nextCursor?: string;
   searchKeyword = '';
   selectedCategory: EventCategory | '' = '';
   selectedLocation = '';
   categories = Object.values(EventCategory);
+  suggestions: Suggestion[] = [];
+  private searchInput = new Subject<string>();
+  private destroy$ = new Subject<void>();
+  // Change-log sequence the loaded list is current as of
+  private changeCursor?: number;
 
-  constructor(private eventService: EventService) {}
+  constructor(
+    private eventService: EventService,
+    private websocketService: WebsocketService,
+    private router: Router
+  ) {}
 
   ngOnInit(): void {
     this.loadEvents();
+
+    this.searchInput.pipe(
+      debounceTime(150),
+      distinctUntilChanged(),
+      switchMap(prefix => prefix.trim() ? this.eventService.suggest(prefix) : of([])),
+      takeUntil(this.destroy$)
+    ).subscribe({
+      next: (suggestions) => this.suggestions = suggestions,
+      error: () => this.suggestions = []
+    });
+
+    this.websocketService.catalogChanges$.pipe(takeUntil(this.destroy$)).subscribe(changes => {
+      if (this.changeCursor === undefined || changes.next <= this.changeCursor) return;
+      // A push that starts after our sequence means some were missed: fetch the gap instead
+      if (changes.since === undefined || changes.since > this.changeCursor) {
+        this.syncChanges();
+      } else {
+        this.applyChanges(changes);
+      }
+    });
+  }
+
+  ngOnDestroy(): void {
+    this.destroy$.next();
+    this.destroy$.complete();
+  }
+
+  onSearchChange(): void {
+    this.searchInput.next(this.searchKeyword);
+    this.applyFilters();
+  }
+
+  // Locations and organizers simply become the keyword, which the filter below also matches
+  onSuggestionSelected(suggestion: Suggestion, change: MatOptionSelectionChange): void {
+    if (change.isUserInput && suggestion.type === 'TITLE' && suggestion.eventId) {
+      this.router.navigate(['/events', suggestion.eventId]);
+    }
   }
 
   loadEvents(): void {
     this.loading = true;
-    this.eventService.getAllEvents().subscribe({
-      next: (events) => {
-        this.events = events;
+    // The sequence is taken before the list, so nothing that changes in between is missed
+    this.eventService.getCatalogChanges().pipe(
+      switchMap(changes => {
+        this.changeCursor = changes.next;
+        return this.eventService.getAllEvents(undefined, undefined, 'summary');
+      })
+    ).subscribe({
+      next: (page) => {
+        this.events = page.items;
+        this.nextCursor = page.hasMore ? page.nextCursor : undefined;
         this.applyFilters();
         this.loading = false;
       },
@@ -62,11 +123,69 @@ export class EventListComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) return;
+
+    this.loadingMore = true;
+    this.eventService.getAllEvents(this.nextCursor, undefined, 'summary').subscribe({
+      next: (page) => {
+        this.events = [...this.events, ...page.items];
+        this.nextCursor = page.hasMore ? page.nextCursor : undefined;
+        this.applyFilters();
+        this.loadingMore = false;
+      },
+      error: () => {
+        this.loadingMore = false;
+      }
+    });
+  }
+
+  syncChanges(): void {
+    if (this.changeCursor === undefined) return;
+
+    this.eventService.getCatalogChanges(this.changeCursor).subscribe({
+      next: (changes) => {
+        if (changes.resync) {
+          this.loadEvents();
+          return;
+        }
+        this.applyChanges(changes);
+        if (changes.hasMore) {
+          this.syncChanges();
+        }
+      }
+    });
+  }
+
+  // Deltas carry each event's current state, so applying one twice is harmless
+  applyChanges(changes: CatalogChanges): void {
+    for (const change of changes.changes) {
+      const index = this.events.findIndex(event => event.id === change.eventId);
+      if (!change.event) {
+        if (index >= 0) this.events.splice(index, 1);
+      } else if (index >= 0) {
+        this.events[index] = change.event;
+      } else if (!this.nextCursor || this.compareEvents(change.event, this.events[this.events.length - 1]) < 0) {
+        // Only events that sort into the loaded range; later ones arrive with "load more"
+        this.events.push(change.event);
+      }
+    }
+    this.events = [...this.events].sort((a, b) => this.compareEvents(a, b));
+    this.changeCursor = changes.next;
+    this.applyFilters();
+  }
+
+  private compareEvents(a: Event, b: Event): number {
+    return a.eventDate.localeCompare(b.eventDate) || a.id - b.id;
+  }
+
   applyFilters(): void {
     this.filteredEvents = this.events.filter(event => {
       const matchesKeyword = !this.searchKeyword || 
         event.title.toLowerCase().includes(this.searchKeyword.toLowerCase()) ||
-        (event.description && event.description.toLowerCase().includes(this.searchKeyword.toLowerCase()));
+        (event.description && event.description.toLowerCase().includes(this.searchKeyword.toLowerCase())) ||
+        event.location.toLowerCase().includes(this.searchKeyword.toLowerCase()) ||
+        event.organizerName.toLowerCase().includes(this.searchKeyword.toLowerCase());
       
       const matchesCategory = !this.selectedCategory || event.category === this.selectedCategory;
       const matchesLocation = !this.selectedLocation || 
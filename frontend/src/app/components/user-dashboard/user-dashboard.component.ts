@@ -44,9 +44,9 @@ export class UserDashboardComponent implements OnInit {
   loadDashboardData(): void {
     const user = this.authService.getCurrentUser();
     if (user) {
-      this.eventService.getEventsByOrganizer(user.id).subscribe({
-        next: (events) => {
-          this.myEvents = events;
+      this.eventService.getEventsByOrganizer(user.id, undefined, undefined, 'summary').subscribe({
+        next: (page) => {
+          this.myEvents = page.items;
         }
       });
 
@@ -56,9 +56,9 @@ export class UserDashboardComponent implements OnInit {
         }
       });
 
-      this.eventService.getUpcomingEvents().subscribe({
-        next: (events) => {
-          this.upcomingEvents = events.slice(0, 5);
+      this.eventService.getUpcomingEvents(undefined, 5, 'summary').subscribe({
+        next: (page) => {
+          this.upcomingEvents = page.items;
         }
       });
     }
@@ -31,22 +31,64 @@ export interface AuthResponse {
   role: string;
 }
 
+// Lists requested with view 'summary' leave out description, createdAt and updatedAt
+export type EventView = 'summary' | 'detail';
+
 export interface Event {
   id: number;
   title: string;
-  description: string;
+  description?: string;
   eventDate: string;
   location: string;
   capacity: number;
   category: EventCategory;
   posterUrl?: string;
   published: boolean;
+  queuedAdmission?: boolean;
   organizerId: number;
   organizerName: string;
   attendeeCount: number;
   isFull: boolean;
-  createdAt: string;
-  updatedAt: string;
+  createdAt?: string;
+  updatedAt?: string;
+}
+
+export type CatalogChangeType = 'CREATED' | 'UPDATED' | 'DELETED' | 'ATTENDANCE_CHANGED';
+
+// Latest change per event after a sequence; event is the current summary, absent once deleted
+export interface CatalogChange {
+  seq: number;
+  eventId: number;
+  type: CatalogChangeType;
+  event?: Event;
+}
+
+export interface CatalogChanges {
+  since?: number;
+  next: number;
+  resync: boolean;
+  hasMore: boolean;
+  changes: CatalogChange[];
+}
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: string;
+  hasMore: boolean;
+  size: number;
+  highlights?: { [id: number]: string };
+  facets?: EventFacets;
+}
+
+export interface EventFacets {
+  categories: { [category in EventCategory]?: number };
+  locations: { [location: string]: number };
+}
+
+export interface Suggestion {
+  text: string;
+  type: 'TITLE' | 'LOCATION' | 'ORGANIZER';
+  eventId?: number;
 }
 
 export interface EventRequest {
@@ -58,6 +100,7 @@ export interface EventRequest {
   category: EventCategory;
   posterUrl?: string;
   published: boolean;
+  queuedAdmission?: boolean;
 }
 
 export enum EventCategory {
@@ -83,6 +126,35 @@ export interface RSVP {
   createdAt: string;
 }
 
+// Returned instead of an RSVP for queued-admission events; the outcome arrives as a notification
+export interface QueueTicket {
+  eventId: number;
+  position: number;
+  queuedAt: string;
+}
+
+// Pushed on /topic/events/{id}/attendance, at most once per interval with the latest counts
+export interface Attendance {
+  eventId: number;
+  attendeeCount: number;
+  waitlistCount: number;
+  capacity: number;
+  isFull: boolean;
+}
+
+export interface WaitlistPosition {
+  eventId: number;
+  status: RSVPStatus;
+  position?: number;
+  waitlistSize: number;
+}
+
+export interface BulkRSVPResult {
+  eventId: number;
+  status?: RSVPStatus;
+  error?: string;
+}
+
 export enum RSVPStatus {
   CONFIRMED = 'CONFIRMED',
   WAITLIST = 'WAITLIST',
@@ -107,6 +179,18 @@ export enum NotificationType {
   EVENT_REMINDER = 'EVENT_REMINDER'
 }
 
+// Pushed on /user/queue/notifications; seq grows with every push to the user
+export interface NotificationPush {
+  seq: number;
+  message: string;
+}
+
+// Answer to /app/notifications/replay: what was missed since the last-seq sent on CONNECT
+export interface NotificationReplay {
+  next: number;
+  notifications: NotificationPush[];
+}
+
 export interface DashboardStats {
   totalEvents: number;
   totalUsers: number;
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Event, EventRequest, EventCategory } from '../models/models';
+import { CatalogChanges, CursorPage, Event, EventRequest, EventCategory, EventView, Suggestion } from '../models/models';
 import { environment } from '@environments/environment';
 
 @Injectable({
@@ -28,35 +28,60 @@ export class EventService {
     return this.http.get<Event>(`${this.apiUrl}/${id}`);
   }
 
-  getAllEvents(): Observable<Event[]> {
-    return this.http.get<Event[]>(this.apiUrl);
+  // Without a sequence only the current one is returned, to be used as "since" after loading a list
+  getCatalogChanges(since?: number): Observable<CatalogChanges> {
+    const params = since !== undefined ? new HttpParams().set('since', since) : undefined;
+    return this.http.get<CatalogChanges>(`${this.apiUrl}/changes`, { params });
   }
 
-  getUpcomingEvents(): Observable<Event[]> {
-    return this.http.get<Event[]>(`${this.apiUrl}/upcoming`);
+  getAllEvents(cursor?: string, size?: number, view?: EventView): Observable<CursorPage<Event>> {
+    return this.http.get<CursorPage<Event>>(this.apiUrl, { params: this.pageParams(cursor, size, view) });
   }
 
-  getEventsByOrganizer(organizerId: number): Observable<Event[]> {
-    return this.http.get<Event[]>(`${this.apiUrl}/organizer/${organizerId}`);
+  getUpcomingEvents(cursor?: string, size?: number, view?: EventView): Observable<CursorPage<Event>> {
+    return this.http.get<CursorPage<Event>>(`${this.apiUrl}/upcoming`, { params: this.pageParams(cursor, size, view) });
+  }
+
+  getEventsByOrganizer(organizerId: number, cursor?: string, size?: number, view?: EventView): Observable<CursorPage<Event>> {
+    return this.http.get<CursorPage<Event>>(`${this.apiUrl}/organizer/${organizerId}`, {
+      params: this.pageParams(cursor, size, view)
+    });
   }
 
   searchEvents(
     category?: EventCategory,
     location?: string,
     startDate?: string,
-    endDate?: string
-  ): Observable<Event[]> {
-    let params = new HttpParams();
+    endDate?: string,
+    cursor?: string,
+    size?: number,
+    view?: EventView
+  ): Observable<CursorPage<Event>> {
+    let params = this.pageParams(cursor, size, view);
     if (category) params = params.set('category', category);
     if (location) params = params.set('location', location);
     if (startDate) params = params.set('startDate', startDate);
     if (endDate) params = params.set('endDate', endDate);
 
-    return this.http.get<Event[]>(`${this.apiUrl}/search`, { params });
+    return this.http.get<CursorPage<Event>>(`${this.apiUrl}/search`, { params });
+  }
+
+  searchByKeyword(keyword: string, cursor?: string, size?: number, view?: EventView): Observable<CursorPage<Event>> {
+    const params = this.pageParams(cursor, size, view).set('keyword', keyword);
+    return this.http.get<CursorPage<Event>>(`${this.apiUrl}/search/keyword`, { params });
+  }
+
+  suggest(prefix: string, limit?: number): Observable<Suggestion[]> {
+    let params = new HttpParams().set('prefix', prefix);
+    if (limit) params = params.set('limit', limit);
+    return this.http.get<Suggestion[]>(`${this.apiUrl}/suggest`, { params });
   }
 
-  searchByKeyword(keyword: string): Observable<Event[]> {
-    const params = new HttpParams().set('keyword', keyword);
-    return this.http.get<Event[]>(`${this.apiUrl}/search/keyword`, { params });
+  private pageParams(cursor?: string, size?: number, view?: EventView): HttpParams {
+    let params = new HttpParams();
+    if (cursor) params = params.set('cursor', cursor);
+    if (size) params = params.set('size', size);
+    if (view) params = params.set('view', view);
+    return params;
   }
 }
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { RSVP } from '../models/models';
+import { BulkRSVPResult, CursorPage, QueueTicket, RSVP, RSVPStatus, WaitlistPosition } from '../models/models';
 import { environment } from '@environments/environment';
 
 @Injectable({
@@ -12,19 +12,43 @@ export class RsvpService {
 
   constructor(private http: HttpClient) {}
 
-  createRSVP(eventId: number): Observable<RSVP> {
-    return this.http.post<RSVP>(`${this.apiUrl}/events/${eventId}`, {});
+  createRSVP(eventId: number): Observable<RSVP | QueueTicket> {
+    return this.http.post<RSVP | QueueTicket>(`${this.apiUrl}/events/${eventId}`, {});
+  }
+
+  getQueueTicket(eventId: number): Observable<QueueTicket> {
+    return this.http.get<QueueTicket>(`${this.apiUrl}/events/${eventId}/queue`);
+  }
+
+  getWaitlistPosition(eventId: number): Observable<WaitlistPosition> {
+    return this.http.get<WaitlistPosition>(`${this.apiUrl}/events/${eventId}/position`);
   }
 
   cancelRSVP(eventId: number): Observable<void> {
     return this.http.delete<void>(`${this.apiUrl}/events/${eventId}`);
   }
 
+  createRSVPs(eventIds: number[]): Observable<BulkRSVPResult[]> {
+    return this.http.post<BulkRSVPResult[]>(`${this.apiUrl}/bulk`, { eventIds });
+  }
+
+  cancelRSVPs(eventIds: number[]): Observable<BulkRSVPResult[]> {
+    return this.http.delete<BulkRSVPResult[]>(`${this.apiUrl}/bulk`, { body: { eventIds } });
+  }
+
   getMyRSVPs(): Observable<RSVP[]> {
     return this.http.get<RSVP[]>(`${this.apiUrl}/my-rsvps`);
   }
 
-  getEventRSVPs(eventId: number): Observable<RSVP[]> {
-    return this.http.get<RSVP[]>(`${this.apiUrl}/events/${eventId}`);
+  getEventRSVPs(eventId: number, status?: RSVPStatus, cursor?: string, size?: number): Observable<CursorPage<RSVP>> {
+    let params = new HttpParams();
+    if (status) params = params.set('status', status);
+    if (cursor) params = params.set('cursor', cursor);
+    if (size) params = params.set('size', size);
+    return this.http.get<CursorPage<RSVP>>(`${this.apiUrl}/events/${eventId}`, { params });
+  }
+
+  exportAttendees(eventId: number): Observable<Blob> {
+    return this.http.get(`${this.apiUrl}/events/${eventId}/export`, { responseType: 'blob' });
   }
 }
@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
-import { Client } from '@stomp/stompjs';
+import { Client, StompSubscription } from '@stomp/stompjs';
 import * as SockJS from 'sockjs-client';
-import { BehaviorSubject, Observable } from 'rxjs';
+import { BehaviorSubject, Observable, Subject } from 'rxjs';
+import { Attendance, CatalogChanges, NotificationPush, NotificationReplay, WaitlistPosition } from '../models/models';
 import { environment } from '@environments/environment';
 
 @Injectable({
@@ -11,7 +12,20 @@ export class WebsocketService {
   private client?: Client;
   private notificationSubject = new BehaviorSubject<any>(null);
   public notification$ = this.notificationSubject.asObservable();
+  private waitlistPositionSubject = new Subject<WaitlistPosition>();
+  public waitlistPosition$ = this.waitlistPositionSubject.asObservable();
   private connected = false;
+  // Events whose broadcast topic we follow, and the live subscriptions while connected
+  private watchedEvents = new Set<number>();
+  private eventSubscriptions = new Map<number, StompSubscription>();
+  private catalogChangesSubject = new Subject<CatalogChanges>();
+  public catalogChanges$ = this.catalogChangesSubject.asObservable();
+  private attendanceSubject = new Subject<Attendance>();
+  public attendance$ = this.attendanceSubject.asObservable();
+  private attendanceEventId?: number;
+  private attendanceSubscription?: StompSubscription;
+  // Last notification sequence received, sent on CONNECT so a reconnect only replays the gap
+  private lastNotificationSeq?: number;
 
   connect(userEmail: string): void {
     if (this.connected) {
@@ -25,6 +39,11 @@ export class WebsocketService {
       connectHeaders: {
         Authorization: `Bearer ${token}`
       },
+      beforeConnect: () => {
+        if (this.client && this.lastNotificationSeq !== undefined) {
+          this.client.connectHeaders['last-seq'] = String(this.lastNotificationSeq);
+        }
+      },
       reconnectDelay: 5000,
       heartbeatIncoming: 4000,
       heartbeatOutgoing: 4000,
@@ -39,8 +58,34 @@ export class WebsocketService {
       
       this.client?.subscribe(`/user/queue/notifications`, (message) => {
         console.log('Received notification:', message.body);
-        this.notificationSubject.next(message.body);
+        const push: NotificationPush = JSON.parse(message.body);
+        this.lastNotificationSeq = push.seq;
+        this.notificationSubject.next(push.message);
+      });
+
+      // Answered once, after the queue above is live, with whatever was pushed while disconnected
+      this.client?.subscribe(`/app/notifications/replay`, (message) => {
+        const replay: NotificationReplay = JSON.parse(message.body);
+        // A live push may already have arrived after the replay was computed
+        this.lastNotificationSeq = Math.max(this.lastNotificationSeq ?? replay.next, replay.next);
+        replay.notifications.forEach(push => this.notificationSubject.next(push.message));
+      });
+
+      this.client?.subscribe(`/user/queue/waitlist-position`, (message) => {
+        this.waitlistPositionSubject.next(JSON.parse(message.body));
       });
+
+      this.client?.subscribe(`/topic/catalog/changes`, (message) => {
+        this.catalogChangesSubject.next(JSON.parse(message.body));
+      });
+
+      this.eventSubscriptions.clear();
+      this.watchedEvents.forEach(eventId => this.subscribeToEvent(eventId));
+
+      this.attendanceSubscription = undefined;
+      if (this.attendanceEventId !== undefined) {
+        this.subscribeToAttendance(this.attendanceEventId);
+      }
     };
 
     this.client.onStompError = (frame) => {
@@ -57,9 +102,62 @@ export class WebsocketService {
   }
 
   disconnect(): void {
+    this.lastNotificationSeq = undefined;
+    this.watchedEvents.clear();
+    this.eventSubscriptions.clear();
+    this.attendanceEventId = undefined;
+    this.attendanceSubscription = undefined;
     if (this.client) {
       this.client.deactivate();
       this.connected = false;
     }
   }
+
+  // Event-wide updates and cancellations are broadcast once on the event's topic, open to its attendees
+  watchEvent(eventId: number): void {
+    this.watchedEvents.add(eventId);
+    if (this.connected) {
+      this.subscribeToEvent(eventId);
+    }
+  }
+
+  unwatchEvent(eventId: number): void {
+    this.watchedEvents.delete(eventId);
+    if (this.connected) {
+      this.eventSubscriptions.get(eventId)?.unsubscribe();
+    }
+    this.eventSubscriptions.delete(eventId);
+  }
+
+  // Live attendance counts for the event being viewed; only one event is followed at a time
+  followAttendance(eventId: number): void {
+    this.unfollowAttendance();
+    this.attendanceEventId = eventId;
+    if (this.connected) {
+      this.subscribeToAttendance(eventId);
+    }
+  }
+
+  unfollowAttendance(): void {
+    if (this.connected) {
+      this.attendanceSubscription?.unsubscribe();
+    }
+    this.attendanceSubscription = undefined;
+    this.attendanceEventId = undefined;
+  }
+
+  private subscribeToAttendance(eventId: number): void {
+    this.attendanceSubscription = this.client?.subscribe(`/topic/events/${eventId}/attendance`, (message) => {
+      this.attendanceSubject.next(JSON.parse(message.body));
+    });
+  }
+
+  private subscribeToEvent(eventId: number): void {
+    if (!this.client || this.eventSubscriptions.has(eventId)) {
+      return;
+    }
+    this.eventSubscriptions.set(eventId, this.client.subscribe(`/topic/events/${eventId}`, (message) => {
+      this.notificationSubject.next(message.body);
+    }));
+  }
 }